@@ -0,0 +1,215 @@
+package com.myorg.holidayservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myorg.holidayservice.HolidayProperties;
+import com.myorg.holidayservice.model.CommonHoliday;
+import com.myorg.holidayservice.model.CountryHolidayCount;
+import com.myorg.holidayservice.model.Holiday;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayKey;
+import com.myorg.holidayservice.repository.BoundedFanOut;
+import com.myorg.holidayservice.repository.HolidayCache;
+import com.myorg.holidayservice.repository.HolidayJsonReader;
+import com.myorg.holidayservice.repository.HolidayKeyPopularity;
+import com.myorg.holidayservice.repository.HolidayMetrics;
+import com.myorg.holidayservice.repository.HolidayRepository;
+import com.myorg.holidayservice.repository.HolidaySnapshotStore;
+import com.myorg.holidayservice.service.HolidayService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the CPU and allocation cost of the service hot paths, of serializing their responses and of
+ * parsing upstream responses, against a warm cache so network latency does not hide regressions.
+ * Run with {@code mvn verify -Pbenchmark}; the gc profiler reports the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HolidayServiceBenchmark {
+
+    private static final int YEAR = 2025;
+    private static final int COUNTRIES = 200;
+    private static final int COMMON_COUNTRIES = 50;
+
+    private Clock clock;
+    private HolidayRepository repository;
+    private HolidayService holidayService;
+    private ObjectMapper objectMapper;
+
+    private List<String> countryCodes;
+    private List<String> commonCountryCodes;
+    private List<Holiday> lastThreeHolidays;
+    private List<Holiday> fullYearHolidays;
+    private byte[] upstreamResponse;
+
+    @Setup
+    public void setUp() {
+        clock = Clock.fixed(LocalDate.of(YEAR, 6, 30).atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        HolidayProperties properties = new HolidayProperties();
+        HolidayCache cache = new HolidayCache(properties, clock);
+        countryCodes = new ArrayList<>(COUNTRIES);
+        Random random = new Random(42);
+        for (int i = 0; i < COUNTRIES; i++) {
+            String code = String.valueOf((char) ('A' + i / 26)) + (char) ('A' + i % 26);
+            countryCodes.add(code);
+            cache.put(HolidayKey.of(YEAR - 1, code), HolidayCalendar.of(dataset(YEAR - 1, random)));
+            cache.put(HolidayKey.of(YEAR, code), HolidayCalendar.of(dataset(YEAR, random)));
+        }
+        commonCountryCodes = countryCodes.subList(0, COMMON_COUNTRIES);
+
+        // Every dataset is cached, so the holiday source is never used
+        repository = new HolidayRepository(key -> CompletableFuture.completedFuture(Optional.empty()), cache,
+                new HolidaySnapshotStore(properties), clock, new BoundedFanOut(properties, Runnable::run),
+                new HolidayKeyPopularity(), new HolidayMetrics(new SimpleMeterRegistry(), properties));
+        holidayService = newHolidayService();
+
+        // Configured the way Spring Boot configures the mapper used for responses
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        lastThreeHolidays = holidayService.getLastThreeHolidays("AA").join();
+        fullYearHolidays = cache.get(HolidayKey.of(YEAR, "AA")).orElseThrow().asList();
+        upstreamResponse = upstreamResponse(fullYearHolidays);
+    }
+
+    private HolidayService newHolidayService() {
+        return new HolidayService(repository, clock, Runnable::run, new HolidayProperties());
+    }
+
+    /**
+     * A service with nothing memoized yet, recreated before every call.
+     */
+    @State(Scope.Thread)
+    public static class FreshService {
+
+        private HolidayService holidayService;
+
+        @Setup(Level.Invocation)
+        public void setUp(HolidayServiceBenchmark benchmark) {
+            holidayService = benchmark.newHolidayService();
+        }
+    }
+
+    /**
+     * Computes the last three holidays from the cached datasets; the service memoizes them for the day,
+     * so each call gets a service that has not done so yet.
+     */
+    @Benchmark
+    public List<Holiday> lastThreeHolidays(FreshService fresh) {
+        return fresh.holidayService.getLastThreeHolidays("AB").join();
+    }
+
+    /**
+     * Reuses the last three holidays memoized for today, as every call after the first of the day does.
+     */
+    @Benchmark
+    public List<Holiday> lastThreeHolidaysMemoized() {
+        return holidayService.getLastThreeHolidays("AB").join();
+    }
+
+    @Benchmark
+    public List<CountryHolidayCount> nonWeekendHolidaysCount() {
+        return holidayService.getNonWeekendHolidaysCount(YEAR, countryCodes).join();
+    }
+
+    @Benchmark
+    public List<Holiday> commonHolidaysOfTwoCountries() {
+        return holidayService.getCommonHolidays(YEAR, "AA", "AB").join();
+    }
+
+    @Benchmark
+    public List<CommonHoliday> commonHolidaysOfAllCountries() {
+        return holidayService.getCommonHolidays(YEAR, commonCountryCodes).join();
+    }
+
+    @Benchmark
+    public List<CommonHoliday> commonHolidaysOfHalfTheCountries() {
+        return holidayService.getCommonHolidays(YEAR, commonCountryCodes, COMMON_COUNTRIES / 2).join();
+    }
+
+    @Benchmark
+    public byte[] serializeLastThreeHolidays() throws Exception {
+        return objectMapper.writeValueAsBytes(lastThreeHolidays);
+    }
+
+    @Benchmark
+    public byte[] serializeFullYear() throws Exception {
+        return objectMapper.writeValueAsBytes(fullYearHolidays);
+    }
+
+    @Benchmark
+    public HolidayCalendar parseUpstreamResponse() throws Exception {
+        return HolidayJsonReader.read(new ByteArrayInputStream(upstreamResponse));
+    }
+
+    /**
+     * The data-binding path the streaming reader replaced, as a baseline.
+     */
+    @Benchmark
+    public HolidayCalendar bindUpstreamResponse() throws Exception {
+        Holiday[] holidays = objectMapper.readValue(upstreamResponse, Holiday[].class);
+        return HolidayCalendar.of(Arrays.stream(holidays).filter(holiday -> holiday.getDate() != null).toList());
+    }
+
+    /**
+     * Renders holidays the way the upstream API does, with the fields the service does not use.
+     */
+    private static byte[] upstreamResponse(List<Holiday> holidays) {
+        StringBuilder json = new StringBuilder("[");
+        for (Holiday holiday : holidays) {
+            json.append(json.length() > 1 ? "," : "")
+                    .append("{\"date\":\"").append(holiday.getDate())
+                    .append("\",\"localName\":\"").append(holiday.getLocalName())
+                    .append("\",\"name\":\"").append(holiday.getLocalName())
+                    .append("\",\"countryCode\":\"AA\",\"fixed\":false,\"global\":true,\"counties\":null,")
+                    .append("\"launchYear\":null,\"types\":[\"Public\"]}");
+        }
+        return json.append("]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * About 10 holidays shared by most countries plus 3 to 12 country-specific ones, similar in
+     * size and overlap to the upstream data.
+     */
+    private static List<Holiday> dataset(int year, Random random) {
+        List<Holiday> holidays = new ArrayList<>();
+        String[] shared = {"01-01", "04-18", "04-21", "05-01", "05-29", "06-09", "08-15", "11-01", "12-25", "12-26"};
+        for (String monthDay : shared) {
+            if (random.nextInt(10) < 8) {
+                holidays.add(new Holiday(LocalDate.parse(year + "-" + monthDay), "Holiday " + monthDay));
+            }
+        }
+        int specific = 3 + random.nextInt(10);
+        for (int i = 0; i < specific; i++) {
+            LocalDate date = LocalDate.ofYearDay(year, 1 + random.nextInt(365));
+            holidays.add(new Holiday(date, "National Day " + random.nextInt(1000)));
+        }
+        return holidays;
+    }
+}
@@ -1,15 +1,120 @@
 package com.myorg.holidayservice;
 
+import com.myorg.holidayservice.repository.HolidayMetrics;
+import com.myorg.holidayservice.repository.HolidaySource;
+import com.myorg.holidayservice.repository.HttpHolidaySource;
+import com.myorg.holidayservice.repository.LocalHolidaySource;
+import com.myorg.holidayservice.repository.TieredHolidaySource;
+import com.myorg.holidayservice.repository.UpstreamCircuitBreaker;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 @Configuration
+@EnableConfigurationProperties(HolidayProperties.class)
 public class AppConfig {
 
+    /**
+     * Non-blocking client for the upstream holiday API, backed by a bounded
+     * Reactor Netty connection pool shared by all requests. Idle and old connections
+     * are evicted in the background, and pool statistics are published to Micrometer
+     * as {@code reactor.netty.connection.provider.*} gauges.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public WebClient holidayWebClient(WebClient.Builder builder, HolidayProperties properties,
+                                      @Value("${api.holidays.url}") String apiUrl) {
+        HolidayProperties.Http http = properties.getHttp();
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("holiday-api")
+                .maxConnections(http.getMaxConnections())
+                .pendingAcquireMaxCount(http.getMaxPendingAcquires())
+                .pendingAcquireTimeout(http.getPendingAcquireTimeout())
+                .maxIdleTime(http.getMaxIdleTime())
+                .maxLifeTime(http.getMaxLifeTime())
+                .evictInBackground(http.getEvictionInterval())
+                .metrics(http.isMetrics())
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) http.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(http.getResponseTimeout());
+        if (http.isHttp2() && apiUrl.startsWith("https")) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    /**
+     * Source of the holiday datasets behind the repository's cache, selected with {@code api.holidays.source.type}.
+     * Only the upstream API goes through the circuit breaker; a local dataset is always available.
+     */
+    @Bean
+    public HolidaySource holidaySource(HolidayProperties properties, WebClient holidayWebClient,
+                                       @Value("${api.holidays.url}") String apiUrl, HolidayMetrics metrics,
+                                       UpstreamCircuitBreaker circuitBreaker, ResourceLoader resourceLoader) {
+        HolidayProperties.Source source = properties.getSource();
+        return switch (source.getType()) {
+            case REMOTE -> new HttpHolidaySource(holidayWebClient, apiUrl, metrics, circuitBreaker);
+            case LOCAL -> new LocalHolidaySource(resourceLoader, source.getLocation());
+            case TIERED -> new TieredHolidaySource(List.of(
+                    new LocalHolidaySource(resourceLoader, source.getLocation()),
+                    new HttpHolidaySource(holidayWebClient, apiUrl, metrics, circuitBreaker)));
+        };
+    }
+
+    /**
+     * Executor for the per-country work that follows an upstream response, so it never runs on
+     * the HTTP client's event loop. With {@code spring.threads.virtual.enabled=true} on Java 21+
+     * every task gets its own virtual thread (Tomcat request threads switch to virtual threads
+     * as well); otherwise a bounded platform thread pool is used. Being an {@link Executor}, it makes Spring Boot
+     * skip its own {@code applicationTaskExecutor}, so MVC async handling is pointed at it in {@link WebConfig}.
+     */
+    @Bean
+    public AsyncTaskExecutor holidayExecutor(Environment environment, HolidayProperties properties) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor("holiday-");
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("holiday-");
+        executor.setCorePoolSize(properties.getExecution().getPoolSize());
+        executor.setMaxPoolSize(properties.getExecution().getPoolSize());
+        return executor;
+    }
+
+    /**
+     * Writes responses as CBOR for clients sending {@code Accept: application/cbor}. The mapper comes
+     * from Spring Boot's builder, so dates and other settings match the JSON responses.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
     }
-}
 
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
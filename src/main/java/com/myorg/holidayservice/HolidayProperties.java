@@ -0,0 +1,219 @@
+package com.myorg.holidayservice;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tunables for the holiday API client, bound from the {@code api.holidays.*} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "api.holidays")
+public class HolidayProperties {
+
+    private Cache cache = new Cache();
+    private Http http = new Http();
+    private Execution execution = new Execution();
+    private FanOut fanOut = new FanOut();
+    private Snapshot snapshot = new Snapshot();
+    private Warmer warmer = new Warmer();
+    private BusinessDays businessDays = new BusinessDays();
+    private Today today = new Today();
+    private Metrics metrics = new Metrics();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private HttpCache httpCache = new HttpCache();
+    private ResponseCache responseCache = new ResponseCache();
+    private Source source = new Source();
+
+    /**
+     * In-memory (year, countryCode) cache in front of the upstream API.
+     * Past years are effectively immutable, so they can be kept much longer than
+     * the current or future years, which may still be amended upstream.
+     */
+    @Data
+    public static class Cache {
+
+        private int maxSize = 1000;
+        private Duration pastYearTtl = Duration.ofDays(30);
+        private Duration currentYearTtl = Duration.ofHours(12);
+        private Duration futureYearTtl = Duration.ofHours(6);
+    }
+
+    /**
+     * Connection pool and timeouts of the non-blocking upstream HTTP client.
+     * Reactor Netty keeps one pool per remote host, so {@code maxConnections} is a
+     * per-route limit; the client only ever talks to the {@code api.holidays.url} host.
+     */
+    @Data
+    public static class Http {
+
+        private int maxConnections = 200;
+        private int maxPendingAcquires = 1000;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration responseTimeout = Duration.ofSeconds(5);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictionInterval = Duration.ofSeconds(30);
+        // Negotiated through ALPN, so only used for https URLs whose server supports it
+        private boolean http2 = true;
+        private boolean metrics = true;
+    }
+
+    /**
+     * Platform thread pool used when virtual threads are not enabled.
+     */
+    @Data
+    public static class Execution {
+
+        private int poolSize = 16;
+    }
+
+    /**
+     * Per-request limits for multi-country queries: how many upstream fetches may be in
+     * flight at once, and how long the whole request may wait before returning partial results.
+     * The circuit breaker's {@code maxConcurrentCalls} should be at least this large, or the fetches
+     * of one large request beyond it are rejected as overloaded.
+     */
+    @Data
+    public static class FanOut {
+
+        private int concurrency = 128;
+        private Duration deadline = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Local on-disk copy of fetched datasets, used to start with a warm cache and to keep
+     * serving past years while the upstream API is unreachable.
+     */
+    @Data
+    public static class Snapshot {
+
+        private boolean enabled = false;
+        private String path = "data/holiday-snapshot.bin";
+    }
+
+    /**
+     * Background refresh of the cache: preloads the current and previous year of {@code countries}
+     * at startup and at year rollover, and reloads the {@code topKeys} most requested entries
+     * once they are within {@code refreshAhead} of expiring, so requests do not wait on the upstream.
+     */
+    @Data
+    public static class Warmer {
+
+        private boolean enabled = false;
+        private List<String> countries = new ArrayList<>();
+        private int topKeys = 100;
+        private int concurrency = 4;
+        private Duration interval = Duration.ofMinutes(1);
+        private Duration refreshAhead = Duration.ofMinutes(30);
+        private Duration timeout = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Weekend definitions for business-day calculations: {@code weekend} applies to every country
+     * without an entry in {@code weekends}, which maps country codes to their own days off.
+     */
+    @Data
+    public static class BusinessDays {
+
+        private Set<DayOfWeek> weekend = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+        private Map<String, Set<DayOfWeek>> weekends = new HashMap<>();
+    }
+
+    /**
+     * Which day is today for the "nearest holidays" lookups: the date in the zone {@code zones} maps the
+     * (upper-case) country code to, else in {@code zone}, else in the clock's zone. Such results are kept
+     * until midnight in that zone.
+     */
+    @Data
+    public static class Today {
+
+        private ZoneId zone;
+        private Map<String, ZoneId> zones = new HashMap<>();
+    }
+
+    /**
+     * Meter tagging. Upstream call timers carry a {@code country} tag only for the countries listed in
+     * {@code countryTags}, all others share {@code other}, so the number of time series stays bounded
+     * whatever country codes clients send.
+     */
+    @Data
+    public static class Metrics {
+
+        private List<String> countryTags = new ArrayList<>();
+    }
+
+    /**
+     * Protection of the upstream API. The breaker opens once {@code failureRateThreshold} percent of the
+     * last {@code slidingWindowSize} calls failed (after at least {@code minimumCalls}), rejects calls for
+     * {@code openDuration}, then lets {@code halfOpenCalls} trial calls through to decide whether to close.
+     * The bulkhead rejects calls beyond {@code maxConcurrentCalls} in flight instead of queueing them; the
+     * default leaves room for two requests fanning out at the full fan-out concurrency.
+     */
+    @Data
+    public static class CircuitBreaker {
+
+        private boolean enabled = true;
+        private int failureRateThreshold = 50;
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenCalls = 3;
+        private int maxConcurrentCalls = 256;
+    }
+
+    /**
+     * HTTP caching of holiday responses: how long clients and CDNs may reuse a response before
+     * revalidating it with its ETag. Past years rarely change, the current and future years may
+     * still be amended upstream.
+     */
+    @Data
+    public static class HttpCache {
+
+        private boolean enabled = true;
+        private Duration pastYearMaxAge = Duration.ofDays(1);
+        private Duration currentYearMaxAge = Duration.ofHours(1);
+        private Duration futureYearMaxAge = Duration.ofHours(1);
+    }
+
+    /**
+     * In-process cache of encoded GET holiday responses, each kept while the datasets it was computed
+     * from are cached unchanged and at most for its HTTP {@code max-age}; bodies are also kept gzipped
+     * when {@code gzip} is set.
+     */
+    @Data
+    public static class ResponseCache {
+
+        private boolean enabled = true;
+        private int maxEntries = 1000;
+        private boolean gzip = true;
+    }
+
+    /**
+     * Where holiday datasets are loaded from on a cache miss: the upstream API ({@code remote}),
+     * a local dataset at {@code location} laid out as {@code {year}/{countryCode}.json} ({@code local}),
+     * or the local dataset with the upstream API for the keys it does not cover ({@code tiered}).
+     */
+    @Data
+    public static class Source {
+
+        public enum Type {
+            REMOTE,
+            LOCAL,
+            TIERED
+        }
+
+        private Type type = Type.REMOTE;
+        private String location = "classpath:holidays";
+    }
+}
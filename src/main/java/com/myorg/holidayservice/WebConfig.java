@@ -0,0 +1,27 @@
+package com.myorg.holidayservice;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Runs Spring MVC's async work, such as writing the NDJSON {@code Flux} responses, on the holiday executor
+ * (virtual threads when enabled) instead of the {@code SimpleAsyncTaskExecutor} fallback MVC uses when
+ * Spring Boot's {@code applicationTaskExecutor} is absent.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AsyncTaskExecutor holidayExecutor;
+
+    public WebConfig(@Qualifier("holidayExecutor") AsyncTaskExecutor holidayExecutor) {
+        this.holidayExecutor = holidayExecutor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(holidayExecutor);
+    }
+}
@@ -0,0 +1,24 @@
+package com.myorg.holidayservice.actuator;
+
+import com.myorg.holidayservice.repository.HolidayCache;
+import com.myorg.holidayservice.repository.HolidayCacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the holiday cache counters at {@code /actuator/holidaycache}.
+ */
+@Component
+@Endpoint(id = "holidaycache")
+@RequiredArgsConstructor
+public class HolidayCacheEndpoint {
+
+    private final HolidayCache holidayCache;
+
+    @ReadOperation
+    public HolidayCacheStats stats() {
+        return holidayCache.stats();
+    }
+}
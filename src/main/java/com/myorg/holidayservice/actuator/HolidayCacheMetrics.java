@@ -0,0 +1,39 @@
+package com.myorg.holidayservice.actuator;
+
+import com.myorg.holidayservice.repository.HolidayCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the holiday cache counters as meters, next to the {@code /actuator/holidaycache} endpoint:
+ * {@code holidays.cache.requests} by {@code result} (hit or miss), {@code holidays.cache.removals}
+ * by {@code cause} (size or expired) and the {@code holidays.cache.size} gauge.
+ */
+@Component
+@RequiredArgsConstructor
+public class HolidayCacheMetrics implements MeterBinder {
+
+    private final HolidayCache holidayCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("holidays.cache.requests", holidayCache, cache -> cache.stats().getHits())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("holidays.cache.requests", holidayCache, cache -> cache.stats().getMisses())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("holidays.cache.removals", holidayCache, cache -> cache.stats().getEvictions())
+                .tag("cause", "size")
+                .register(registry);
+        FunctionCounter.builder("holidays.cache.removals", holidayCache, cache -> cache.stats().getExpirations())
+                .tag("cause", "expired")
+                .register(registry);
+        Gauge.builder("holidays.cache.size", holidayCache, cache -> cache.stats().getSize())
+                .register(registry);
+    }
+}
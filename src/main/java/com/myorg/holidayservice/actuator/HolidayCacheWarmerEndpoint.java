@@ -0,0 +1,24 @@
+package com.myorg.holidayservice.actuator;
+
+import com.myorg.holidayservice.repository.HolidayCacheWarmer;
+import com.myorg.holidayservice.repository.HolidayCacheWarmerStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the cache warmer status at {@code /actuator/holidaywarmer}.
+ */
+@Component
+@Endpoint(id = "holidaywarmer")
+@RequiredArgsConstructor
+public class HolidayCacheWarmerEndpoint {
+
+    private final HolidayCacheWarmer holidayCacheWarmer;
+
+    @ReadOperation
+    public HolidayCacheWarmerStatus status() {
+        return holidayCacheWarmer.status();
+    }
+}
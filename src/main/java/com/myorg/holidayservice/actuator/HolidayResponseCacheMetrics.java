@@ -0,0 +1,32 @@
+package com.myorg.holidayservice.actuator;
+
+import com.myorg.holidayservice.controller.HolidayResponseCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the response cache counters as meters: {@code holidays.response.cache.requests} by
+ * {@code result} (hit or miss) and the {@code holidays.response.cache.size} gauge.
+ */
+@Component
+@RequiredArgsConstructor
+public class HolidayResponseCacheMetrics implements MeterBinder {
+
+    private final HolidayResponseCache responseCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("holidays.response.cache.requests", responseCache, HolidayResponseCache::hits)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("holidays.response.cache.requests", responseCache, HolidayResponseCache::misses)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("holidays.response.cache.size", responseCache, HolidayResponseCache::size)
+                .register(registry);
+    }
+}
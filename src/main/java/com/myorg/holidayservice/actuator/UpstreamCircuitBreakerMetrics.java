@@ -0,0 +1,33 @@
+package com.myorg.holidayservice.actuator;
+
+import com.myorg.holidayservice.repository.UpstreamCircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Publishes the state of the upstream circuit breaker: {@code holidays.upstream.circuit.state}
+ * is 1 for the current {@code state} tag and 0 for the others, and {@code holidays.upstream.bulkhead.available}
+ * is the number of further upstream calls the bulkhead lets through.
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamCircuitBreakerMetrics implements MeterBinder {
+
+    private final UpstreamCircuitBreaker circuitBreaker;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (UpstreamCircuitBreaker.State state : UpstreamCircuitBreaker.State.values()) {
+            Gauge.builder("holidays.upstream.circuit.state", circuitBreaker, breaker -> breaker.state() == state ? 1 : 0)
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+        Gauge.builder("holidays.upstream.bulkhead.available", circuitBreaker, UpstreamCircuitBreaker::availableConcurrentCalls)
+                .register(registry);
+    }
+}
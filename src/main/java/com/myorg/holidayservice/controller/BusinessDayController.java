@@ -0,0 +1,83 @@
+package com.myorg.holidayservice.controller;
+
+import com.myorg.holidayservice.model.WorkingDayCheck;
+import com.myorg.holidayservice.model.WorkingDaysAdded;
+import com.myorg.holidayservice.model.WorkingDaysCount;
+import com.myorg.holidayservice.service.BusinessDayService;
+import jakarta.validation.constraints.NotBlank;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST endpoints for business-day calculations: working-day checks, adding working days and
+ * counting them, using the country's holidays and weekend definition.
+ */
+@RestController
+@RequestMapping("/api/business-days")
+@Validated
+public class BusinessDayController {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusinessDayController.class);
+
+    private final BusinessDayService businessDayService;
+
+    public BusinessDayController(BusinessDayService businessDayService) {
+        this.businessDayService = businessDayService;
+    }
+
+    /**
+     * Endpoint to check whether a date is a working day in a country.
+     *
+     * @param countryCode The country code (e.g., "US", "IN").
+     * @param date The date to check, as yyyy-MM-dd.
+     * @return A ResponseEntity telling whether the date is a working day, and the holiday on it if any.
+     */
+    @GetMapping("/{countryCode}/working-day")
+    public CompletableFuture<ResponseEntity<WorkingDayCheck>> isWorkingDay(
+            @PathVariable @NotBlank String countryCode,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        logger.info("Checking working day {} for country: {}", date, countryCode);
+        return businessDayService.isWorkingDay(countryCode, date).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Endpoint to add working days to a date.
+     *
+     * @param countryCode The country code (e.g., "US", "IN").
+     * @param date The date to start from, as yyyy-MM-dd.
+     * @param days The number of working days to add; negative values go back in time.
+     * @return A ResponseEntity containing the resulting date.
+     */
+    @GetMapping("/{countryCode}/add")
+    public CompletableFuture<ResponseEntity<WorkingDaysAdded>> addWorkingDays(
+            @PathVariable @NotBlank String countryCode,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam int days) {
+        logger.info("Adding {} working days to {} for country: {}", days, date, countryCode);
+        return businessDayService.addWorkingDays(countryCode, date, days).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Endpoint to count the working days between two dates, both included.
+     *
+     * @param countryCode The country code (e.g., "US", "IN").
+     * @param from The first day of the range, as yyyy-MM-dd.
+     * @param to The last day of the range, as yyyy-MM-dd.
+     * @return A ResponseEntity containing the number of working days in the range.
+     */
+    @GetMapping("/{countryCode}/count")
+    public CompletableFuture<ResponseEntity<WorkingDaysCount>> countWorkingDays(
+            @PathVariable @NotBlank String countryCode,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        logger.info("Counting working days from {} to {} for country: {}", from, to, countryCode);
+        return businessDayService.countWorkingDays(countryCode, from, to).thenApply(ResponseEntity::ok);
+    }
+}
@@ -1,22 +1,38 @@
 package com.myorg.holidayservice.controller;
 
+import com.myorg.holidayservice.model.CommonHoliday;
 import com.myorg.holidayservice.model.CountryHolidayCount;
 import com.myorg.holidayservice.model.Holiday;
+import com.myorg.holidayservice.model.HolidayDirection;
+import com.myorg.holidayservice.model.HolidayQuery;
+import com.myorg.holidayservice.model.HolidayQueryResult;
+import com.myorg.holidayservice.service.HolidayQueryService;
 import com.myorg.holidayservice.service.HolidayService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import javax.validation.Valid;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * REST endpoints for holiday queries. Handlers return {@link CompletableFuture}s so the
+ * servlet thread is released while upstream calls are in flight. GET responses carry an ETag and
+ * Cache-Control (see {@link HolidayHttpCaching}), so revalidations are answered with 304 Not Modified.
+ * Responses are JSON unless the client asks for the more compact {@code application/cbor}.
+ */
 @RestController
 @RequestMapping("/api/holidays")
 @RequiredArgsConstructor
@@ -30,18 +46,35 @@ public class HolidayController {
     @Autowired
     private HolidayService holidayService;
 
+    @Autowired
+    private HolidayQueryService holidayQueryService;
+
+    @Autowired
+    private HolidayHttpCaching httpCaching;
+
     /**
-     * Endpoint to get the last three holidays for a specific country.
+     * Endpoint to get the last three holidays for a specific country, or more generally the
+     * {@code n} holidays nearest to today in either direction.
      *
      * @param countryCode The country code (e.g., "US", "IN") to retrieve holidays for.
-     * @return A ResponseEntity containing a list of the last 3 holidays for the given country.
+     * @param n Optional number of holidays to return (1 to 100); defaults to 3.
+     * @param direction Optional "past" for the most recent holidays (default) or "future" for the upcoming ones.
+     * @return A ResponseEntity containing a list of the holidays, nearest to today first.
      * If no holidays are found, returns a 404 (Not Found) response.
      */
     @GetMapping("/{countryCode}")
-    public ResponseEntity<List<Holiday>> getLastThreeHolidays(@PathVariable @NotBlank String countryCode) {
-        logger.info("Fetching last 3 holidays for country: {}", countryCode);
-        List<Holiday> holidays = holidayService.getLastThreeHolidays(countryCode);
-        return holidays.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(holidays);
+    public CompletableFuture<ResponseEntity<List<Holiday>>> getLastThreeHolidays(
+            @PathVariable @NotBlank String countryCode,
+            @RequestParam(required = false) @Min(1) @Max(100) Integer n,
+            @RequestParam(required = false) String direction) {
+        if (n == null && direction == null) {
+            logger.info("Fetching last 3 holidays for country: {}", countryCode);
+            return holidayService.getLastThreeHolidays(countryCode).thenApply(this::okForTodayOrNotFound);
+        }
+        HolidayDirection holidayDirection = direction == null ? HolidayDirection.PAST : HolidayDirection.of(direction);
+        int count = n == null ? 3 : n;
+        logger.info("Fetching {} {} holidays for country: {}", count, holidayDirection, countryCode);
+        return holidayService.getHolidays(countryCode, count, holidayDirection).thenApply(this::okForTodayOrNotFound);
     }
 
     /**
@@ -53,11 +86,32 @@ public class HolidayController {
      * The list is sorted in descending order of holiday count.
      */
     @GetMapping("/{year}/public-holidays")
-    public ResponseEntity<List<CountryHolidayCount>> getPublicHolidaysCount(
+    public CompletableFuture<ResponseEntity<List<CountryHolidayCount>>> getPublicHolidaysCount(
             @PathVariable @NotNull int year,
             @RequestParam @Valid List<String> countryCodes) {
         logger.info("Fetching public holidays count for year: {} and countries: {}", year, countryCodes);
-        return ResponseEntity.ok(holidayService.getNonWeekendHolidaysCount(year, countryCodes));
+        return holidayService.getNonWeekendHolidaysCount(year, countryCodes).thenApply(counts ->
+                counts.stream().anyMatch(count -> count.getError() != null)
+                        ? httpCaching.uncacheable(counts)
+                        : httpCaching.ok(counts, year));
+    }
+
+    /**
+     * Streaming variant of the public holidays count, selected with {@code Accept: application/x-ndjson}.
+     * Each country's count is written as one JSON line as soon as it is available, so clients see
+     * results progressively instead of waiting for the slowest country. Lines arrive in completion
+     * order, and countries that fail carry an {@code error}.
+     *
+     * @param year The year for which public holidays are requested.
+     * @param countryCodes List of country codes (e.g., ["IN", "US"]).
+     * @return The CountryHolidayCount of each country, one per line.
+     */
+    @GetMapping(value = "/{year}/public-holidays", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CountryHolidayCount> streamPublicHolidaysCount(
+            @PathVariable @NotNull int year,
+            @RequestParam @Valid List<String> countryCodes) {
+        logger.info("Streaming public holidays count for year: {} and countries: {}", year, countryCodes);
+        return holidayService.streamNonWeekendHolidaysCount(year, countryCodes);
     }
 
     /**
@@ -70,12 +124,67 @@ public class HolidayController {
      * If no common holidays are found, returns a 404 (Not Found) response.
      */
     @GetMapping("/{year}/common-holidays")
-    public ResponseEntity<List<Holiday>> getCommonHolidays(
+    public CompletableFuture<ResponseEntity<List<Holiday>>> getCommonHolidays(
             @PathVariable @NotNull int year,
             @RequestParam @NotBlank String countryCode1,
             @RequestParam @NotBlank String countryCode2) {
         logger.info("Fetching common holidays for year: {}, between countries: {} and {}", year, countryCode1, countryCode2);
-        List<Holiday> commonHolidays = holidayService.getCommonHolidays(year, countryCode1, countryCode2);
-        return commonHolidays.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(commonHolidays);
+        return holidayService.getCommonHolidays(year, countryCode1, countryCode2).thenApply(common -> okOrNotFound(common, year));
+    }
+
+    /**
+     * Endpoint to get the holidays shared by any number of countries in a given year.
+     *
+     * @param year The year for which common holidays are requested.
+     * @param countryCodes List of country codes (e.g., ["NL", "DE", "BE"]).
+     * @param minCountries Optional minimum number of countries that must observe a date; defaults to all of them.
+     * @return A ResponseEntity containing the common holidays in date order, each with the countries observing it.
+     * If no common holidays are found, returns a 404 (Not Found) response.
+     */
+    @GetMapping(value = "/{year}/common-holidays", params = "countryCodes")
+    public CompletableFuture<ResponseEntity<List<CommonHoliday>>> getHolidaysCommonToCountries(
+            @PathVariable @NotNull int year,
+            @RequestParam @Valid List<String> countryCodes,
+            @RequestParam(required = false) Integer minCountries) {
+        logger.info("Fetching common holidays for year: {}, countries: {}, minCountries: {}", year, countryCodes, minCountries);
+        CompletableFuture<List<CommonHoliday>> common = minCountries == null
+                ? holidayService.getCommonHolidays(year, countryCodes)
+                : holidayService.getCommonHolidays(year, countryCodes, minCountries);
+        return common.thenApply(holidays -> okOrNotFound(holidays, year));
+    }
+
+    /**
+     * Endpoint to run many queries in one request, e.g. everything a page needs.
+     *
+     * @param queries Up to 100 queries, each of type "holidays", "count" or "common" with the parameters of the matching endpoint.
+     * @return A ResponseEntity containing one result per query, in request order. A query that fails
+     * carries an error instead of a result; the other queries are not affected.
+     */
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<List<HolidayQueryResult>>> runQueries(@RequestBody List<HolidayQuery> queries) {
+        logger.info("Running batch of {} queries", queries.size());
+        return holidayQueryService.run(queries).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Streaming variant of the batch endpoint, selected with {@code Accept: application/x-ndjson}.
+     * Each result is written as one JSON line as soon as its query completes; give queries an
+     * {@code id} to match results, which arrive in completion order.
+     *
+     * @param queries Up to 100 queries, as for the batch endpoint.
+     * @return One result per query, one per line.
+     */
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<HolidayQueryResult> streamQueries(@RequestBody List<HolidayQuery> queries) {
+        logger.info("Streaming batch of {} queries", queries.size());
+        return holidayQueryService.stream(queries);
+    }
+
+    private <T> ResponseEntity<List<T>> okOrNotFound(List<T> body, int year) {
+        return body.isEmpty() ? ResponseEntity.notFound().build() : httpCaching.ok(body, year);
+    }
+
+    private <T> ResponseEntity<List<T>> okForTodayOrNotFound(List<T> body) {
+        return body.isEmpty() ? ResponseEntity.notFound().build() : httpCaching.okForToday(body);
     }
 }
@@ -0,0 +1,99 @@
+package com.myorg.holidayservice.controller;
+
+import com.myorg.holidayservice.HolidayProperties;
+import com.myorg.holidayservice.model.HolidayResults;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
+
+/**
+ * Builds cacheable holiday responses. The ETag is the {@link HolidayResults#getVersion() version} of
+ * the datasets a response was computed from, so it changes exactly when the data does, without
+ * serializing the body. It is weak, since the same results are sent as JSON or CBOR, gzipped or not,
+ * and those bytes differ while their content does not. Spring answers a matching
+ * {@code If-None-Match} with 304 Not Modified and skips writing the body. {@code Cache-Control: max-age}
+ * depends on the year the response is about ({@code api.holidays.http-cache.*}); stale responses must
+ * be revalidated on every use. Responses vary by {@code Accept}, as the same results may be sent as
+ * JSON or CBOR.
+ */
+@Component
+public class HolidayHttpCaching {
+
+    private final HolidayProperties.HttpCache properties;
+    private final Clock clock;
+
+    public HolidayHttpCaching(HolidayProperties properties, Clock clock) {
+        this.properties = properties.getHttpCache();
+        this.clock = clock;
+    }
+
+    /**
+     * Responds with the results of one year.
+     *
+     * @param body the results
+     * @param year the year the results are about
+     * @return a 200 response with caching headers when the body carries a version
+     */
+    public <T> ResponseEntity<List<T>> ok(List<T> body, int year) {
+        return ok(body, maxAgeFor(year));
+    }
+
+    /**
+     * Responds with results relative to today, which are only reused until they are
+     * {@link HolidayResults#getValidUntil() valid}, or else until midnight in the clock's zone.
+     *
+     * @param body the results
+     * @return a 200 response with caching headers when the body carries a version
+     */
+    public <T> ResponseEntity<List<T>> okForToday(List<T> body) {
+        Instant midnight = body instanceof HolidayResults<T> results && results.getValidUntil() != null
+                ? results.getValidUntil()
+                : LocalDate.now(clock).plusDays(1).atStartOfDay(clock.getZone()).toInstant();
+        Duration untilMidnight = Duration.between(clock.instant(), midnight);
+        Duration maxAge = properties.getCurrentYearMaxAge();
+        if (untilMidnight.isNegative()) {
+            untilMidnight = Duration.ZERO;
+        }
+        return ok(body, untilMidnight.compareTo(maxAge) < 0 ? untilMidnight : maxAge);
+    }
+
+    /**
+     * Responds with results that must not be cached, e.g. partial results missing failed countries.
+     *
+     * @param body the results
+     * @return a 200 response that caches must not store
+     */
+    public <T> ResponseEntity<List<T>> uncacheable(List<T> body) {
+        return properties.isEnabled()
+                ? ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(body)
+                : ResponseEntity.ok(body);
+    }
+
+    private <T> ResponseEntity<List<T>> ok(List<T> body, Duration maxAge) {
+        if (!properties.isEnabled() || !(body instanceof HolidayResults<T> results)) {
+            return ResponseEntity.ok(body);
+        }
+        return ResponseEntity.ok()
+                .eTag("W/\"" + Long.toHexString(results.getVersion()) + "\"")
+                .cacheControl(results.isStale() ? CacheControl.noCache() : CacheControl.maxAge(maxAge).cachePublic())
+                // JSON and CBOR share the weak ETag, so caches must key on the requested encoding
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    Duration maxAgeFor(int year) {
+        int currentYear = Year.now(clock).getValue();
+        if (year < currentYear) {
+            return properties.getPastYearMaxAge();
+        }
+        return year == currentYear ? properties.getCurrentYearMaxAge() : properties.getFutureYearMaxAge();
+    }
+}
@@ -0,0 +1,268 @@
+package com.myorg.holidayservice.controller;
+
+import com.myorg.holidayservice.HolidayProperties;
+import com.myorg.holidayservice.model.HolidayKey;
+import com.myorg.holidayservice.repository.HolidayCache;
+import com.myorg.holidayservice.repository.HolidayKeyPopularity;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the encoded body of cacheable GET holiday responses, keyed by path, query string and {@code Accept}
+ * header (JSON or CBOR), and writes it straight to the output stream on later requests, so hot keys such as
+ * the last holidays of US or NL skip the service and Jackson. Bodies of at least {@value #MIN_GZIP_SIZE}
+ * bytes are also kept gzipped for clients accepting it ({@code api.holidays.response-cache.gzip}).
+ *
+ * <p>Only responses {@link HolidayHttpCaching} marks {@code public} with a {@code max-age} are kept, and
+ * for at most that long, so "last N holidays" responses are dropped at midnight and stale or partial
+ * responses are never kept. A copy is sent with the part of its {@code max-age} that is left, so clients
+ * and CDNs do not keep it past that point either. Each copy remembers the (year, countryCode) datasets it
+ * was computed from and their versions; it is only served while {@link HolidayCache} holds exactly those
+ * datasets unexpired, so a dataset amended upstream or due for a reload sends the next request through the
+ * service again. Up to {@code api.holidays.response-cache.max-entries} responses are kept, least recently
+ * used first out. A hit still counts as a request for each of those datasets in {@link HolidayKeyPopularity},
+ * so the cache warmer keeps refreshing the keys behind the hottest responses.
+ */
+@Component
+public class HolidayResponseCache extends OncePerRequestFilter {
+
+    // Set by HolidayResponseSourcesAdvice to the datasets of the results being written
+    static final String SOURCES_ATTRIBUTE = HolidayResponseCache.class.getName() + ".sources";
+
+    // Smaller bodies barely shrink and are sent as they are
+    static final int MIN_GZIP_SIZE = 1024;
+
+    private static final String PATH_PREFIX = "/api/holidays/";
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final HolidayProperties.ResponseCache properties;
+    private final HolidayCache holidayCache;
+    private final HolidayKeyPopularity popularity;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public HolidayResponseCache(HolidayProperties properties, HolidayCache holidayCache,
+                                HolidayKeyPopularity popularity, Clock clock) {
+        this.properties = properties.getResponseCache();
+        this.holidayCache = holidayCache;
+        this.popularity = popularity;
+        this.clock = clock;
+        // Access-ordered map so the eldest entry is always the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > HolidayResponseCache.this.properties.getMaxEntries();
+            }
+        };
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return !properties.isEnabled()
+                || !HttpMethod.GET.matches(request.getMethod())
+                || !request.getRequestURI().startsWith(request.getContextPath() + PATH_PREFIX)
+                // Streamed responses are written as their data arrives and are never kept
+                || (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE));
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // Handlers complete asynchronously, so the body is only known in the async dispatch
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = keyOf(request);
+        if (!isAsyncDispatch(request)) {
+            Entry entry = lookup(key);
+            if (entry != null) {
+                hits.incrementAndGet();
+                entry.getSources().keySet().forEach(popularity::record);
+                write(entry, request, response);
+                return;
+            }
+            misses.incrementAndGet();
+        }
+        // The async dispatch normally gets the wrapper installed by the initial one
+        if (WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class) == null) {
+            response = new ContentCachingResponseWrapper(response);
+        }
+
+        chain.doFilter(request, response);
+
+        if (!isAsyncStarted(request)) {
+            ContentCachingResponseWrapper recorded = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+            if (recorded != null) {
+                store(key, request, recorded);
+                recorded.copyBodyToResponse();
+            }
+        }
+    }
+
+    private static String keyOf(HttpServletRequest request) {
+        String query = request.getQueryString();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        // The Accept header picks the encoding, so each one is kept apart
+        return request.getRequestURI() + (query == null ? "" : "?" + query) + (accept == null ? "" : " " + accept);
+    }
+
+    /**
+     * Returns the cached response for a key if it has not expired and its datasets are still cached.
+     */
+    private Entry lookup(String key) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            return null;
+        }
+        if (entry.getExpiresAt().isAfter(clock.instant())
+                && entry.getSources().entrySet().stream().allMatch(source ->
+                holidayCache.isCurrent(source.getKey(), source.getValue()))) {
+            return entry;
+        }
+        synchronized (entries) {
+            entries.remove(key, entry);
+        }
+        return null;
+    }
+
+    private void write(Entry entry, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, entry.getETag());
+        // Only the rest of the stored max-age is left, so downstream caches drop the copy when this one expires
+        long maxAge = Math.max(0, Duration.between(clock.instant(), entry.getExpiresAt()).getSeconds());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, MAX_AGE.matcher(entry.getCacheControl()).replaceFirst("max-age=" + maxAge));
+        entry.getVary().forEach(vary -> response.addHeader(HttpHeaders.VARY, vary));
+        if (entry.getGzipped() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (new ServletWebRequest(request, response).checkNotModified(entry.getETag())) {
+            return;
+        }
+        byte[] body = entry.getBody();
+        if (entry.getGzipped() != null && acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = entry.getGzipped();
+        }
+        response.setContentType(entry.getContentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void store(String key, HttpServletRequest request, ContentCachingResponseWrapper response) {
+        if (response.getStatus() != HttpServletResponse.SC_OK
+                || !(request.getAttribute(SOURCES_ATTRIBUTE) instanceof Map<?, ?> sources)) {
+            return;
+        }
+        String eTag = response.getHeader(HttpHeaders.ETAG);
+        String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        String contentType = response.getContentType();
+        if (eTag == null || cacheControl == null || !cacheControl.contains("public") || contentType == null
+                || response.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            return;
+        }
+        Matcher maxAge = MAX_AGE.matcher(cacheControl);
+        if (!maxAge.find() || Long.parseLong(maxAge.group(1)) == 0) {
+            return;
+        }
+
+        byte[] body = response.getContentAsByteArray();
+        byte[] gzipped = properties.isGzip() && body.length >= MIN_GZIP_SIZE ? gzip(body) : null;
+        @SuppressWarnings("unchecked")
+        Map<HolidayKey, Long> datasets = Map.copyOf((Map<HolidayKey, Long>) sources);
+        Instant expiresAt = clock.instant().plusSeconds(Long.parseLong(maxAge.group(1)));
+        synchronized (entries) {
+            entries.put(key, new Entry(body, gzipped, contentType, eTag, cacheControl,
+                    List.copyOf(response.getHeaders(HttpHeaders.VARY)), expiresAt, datasets));
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Value
+    private static class Entry {
+        byte[] body;
+        // Null when the body is too small to be worth compressing or gzip is disabled
+        byte[] gzipped;
+        String contentType;
+        String eTag;
+        String cacheControl;
+        List<String> vary;
+        Instant expiresAt;
+        Map<HolidayKey, Long> sources;
+    }
+}
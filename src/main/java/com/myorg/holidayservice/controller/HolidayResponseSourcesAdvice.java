@@ -0,0 +1,35 @@
+package com.myorg.holidayservice.controller;
+
+import com.myorg.holidayservice.model.HolidayResults;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Hands the datasets fresh results were computed from to {@link HolidayResponseCache}, which only sees
+ * the encoded body. Results computed from stale data are not handed over, so they are never kept.
+ */
+@RestControllerAdvice
+public class HolidayResponseSourcesAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof HolidayResults<?> results && !results.isStale()
+                && request instanceof ServletServerHttpRequest servletRequest) {
+            servletRequest.getServletRequest().setAttribute(HolidayResponseCache.SOURCES_ATTRIBUTE, results.getSources());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,36 @@
+package com.myorg.holidayservice.controller;
+
+import com.myorg.holidayservice.model.HolidayResults;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Tells clients when a response was computed from stale holiday data, i.e. served while the
+ * upstream API was unavailable: such responses carry {@value #STALE_HEADER}{@code : true}.
+ * Streamed responses are sent before all their data is known and never carry it.
+ */
+@RestControllerAdvice
+public class StaleDataResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STALE_HEADER = "X-Holiday-Data-Stale";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (HolidayResults.isStale(body)) {
+            response.getHeaders().set(STALE_HEADER, "true");
+        }
+        return body;
+    }
+}
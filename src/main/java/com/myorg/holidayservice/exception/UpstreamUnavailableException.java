@@ -0,0 +1,11 @@
+package com.myorg.holidayservice.exception;
+
+/**
+ * Thrown without calling the upstream holiday API when its circuit breaker is open or too many
+ * calls to it are already in flight.
+ */
+public class UpstreamUnavailableException extends HolidayException {
+    public UpstreamUnavailableException(String message) {
+        super(message, null);
+    }
+}
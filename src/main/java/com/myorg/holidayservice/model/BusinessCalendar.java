@@ -0,0 +1,134 @@
+package com.myorg.holidayservice.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Working days of one country in one year, derived once from its {@link HolidayCalendar} and
+ * weekend definition so that every business-day query is a constant-time lookup.
+ *
+ * <p>A day-of-year bitset marks the working days, {@code workingBefore[i]} counts the working days
+ * among the first {@code i} days of the year, and {@code workingDays} lists the day-of-year index
+ * of each working day, so the n-th working day can be read directly.
+ */
+public final class BusinessCalendar {
+
+    private final int year;
+    private final int firstEpochDay;
+    private final HolidayCalendar holidays;
+    private final long[] workingBits;
+    private final int[] workingBefore;
+    private final int[] workingDays;
+
+    private BusinessCalendar(int year, HolidayCalendar holidays, int weekendMask) {
+        this.year = year;
+        this.firstEpochDay = (int) LocalDate.of(year, 1, 1).toEpochDay();
+        this.holidays = holidays;
+        int length = Year.of(year).length();
+        long[] holidayBits = holidays.dayOfYearBits(year);
+        this.workingBits = new long[HolidayCalendar.YEAR_WORDS];
+        this.workingBefore = new int[length + 1];
+        int[] days = new int[length];
+        int count = 0;
+        for (int dayIndex = 0; dayIndex < length; dayIndex++) {
+            int dayOfWeek = Math.floorMod(firstEpochDay + dayIndex + 3, 7);
+            boolean holiday = (holidayBits[dayIndex >>> 6] & (1L << dayIndex)) != 0;
+            if (!holiday && (weekendMask & (1 << dayOfWeek)) == 0) {
+                workingBits[dayIndex >>> 6] |= 1L << dayIndex;
+                days[count++] = dayIndex;
+            }
+            workingBefore[dayIndex + 1] = count;
+        }
+        this.workingDays = Arrays.copyOf(days, count);
+    }
+
+    /**
+     * Derives the working days of a year.
+     *
+     * @param year        the year to cover
+     * @param holidays    the holidays of the country, usually of that year
+     * @param weekendMask the weekend days, see {@link #weekendMask(Set)}
+     * @return the business calendar
+     */
+    public static BusinessCalendar of(int year, HolidayCalendar holidays, int weekendMask) {
+        return new BusinessCalendar(year, holidays, weekendMask);
+    }
+
+    /**
+     * Encodes weekend days as a bit mask with bit {@code dayOfWeek.ordinal()} set (Monday is bit 0).
+     *
+     * @param weekend the days off every week
+     * @return the mask
+     * @throws IllegalArgumentException if every day of the week is a weekend day
+     */
+    public static int weekendMask(Set<DayOfWeek> weekend) {
+        int mask = 0;
+        for (DayOfWeek day : weekend) {
+            mask |= 1 << day.ordinal();
+        }
+        if (mask == 0x7F) {
+            throw new IllegalArgumentException("A weekend cannot cover the whole week");
+        }
+        return mask;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * The holidays this calendar was derived from.
+     */
+    public HolidayCalendar getHolidays() {
+        return holidays;
+    }
+
+    /**
+     * @return the number of working days in the year
+     */
+    public int workingDayCount() {
+        return workingDays.length;
+    }
+
+    /**
+     * @param epochDay a day of this calendar's year
+     * @return true if the day is neither a weekend day nor a holiday
+     */
+    public boolean isWorkingDay(int epochDay) {
+        int dayIndex = dayIndex(epochDay);
+        return (workingBits[dayIndex >>> 6] & (1L << dayIndex)) != 0;
+    }
+
+    /**
+     * Counts the working days from the start of the year up to, but excluding, a day.
+     *
+     * @param epochDay a day of this calendar's year, or the first day of the next year
+     * @return the number of working days before {@code epochDay} in this year
+     */
+    public int workingDaysBefore(int epochDay) {
+        int dayIndex = epochDay - firstEpochDay;
+        if (dayIndex < 0 || dayIndex >= workingBefore.length) {
+            throw new IllegalArgumentException(LocalDate.ofEpochDay(epochDay) + " is not in " + year);
+        }
+        return workingBefore[dayIndex];
+    }
+
+    /**
+     * @param index the 0-based position of a working day in the year
+     * @return that working day, as an epoch day
+     */
+    public int workingDay(int index) {
+        return firstEpochDay + workingDays[index];
+    }
+
+    private int dayIndex(int epochDay) {
+        int dayIndex = epochDay - firstEpochDay;
+        if (dayIndex < 0 || dayIndex >= workingBefore.length - 1) {
+            throw new IllegalArgumentException(LocalDate.ofEpochDay(epochDay) + " is not in " + year);
+        }
+        return dayIndex;
+    }
+}
@@ -0,0 +1,24 @@
+package com.myorg.holidayservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A date observed as a holiday by several of the requested countries.
+ */
+@Data
+@AllArgsConstructor
+public class CommonHoliday {
+
+    private LocalDate date;
+
+    /**
+     * Local name used by the first requested country that observes the date.
+     */
+    private String localName;
+
+    private List<String> countryCodes;
+}
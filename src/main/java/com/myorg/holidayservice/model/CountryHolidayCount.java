@@ -1,5 +1,6 @@
 package com.myorg.holidayservice.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -9,4 +10,18 @@ public class CountryHolidayCount {
 
     private String countryCode;
     private int count;
+
+    /**
+     * Why the count could not be determined for this country; absent when it was.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+
+    public CountryHolidayCount(String countryCode, int count) {
+        this(countryCode, count, null);
+    }
+
+    public static CountryHolidayCount failed(String countryCode, String error) {
+        return new CountryHolidayCount(countryCode, 0, error);
+    }
 }
@@ -0,0 +1,331 @@
+package com.myorg.holidayservice.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compact, immutable holiday dataset of one (year, countryCode) pair.
+ *
+ * <p>Dates are stored as a sorted {@code int[]} of epoch days, with local names in a parallel
+ * array whose strings come from a dictionary shared by all calendars, so a name such as
+ * "Christmas Day" is held once no matter how many countries and years use it. This keeps
+ * cached datasets free of per-holiday {@link Holiday} and {@link LocalDate} objects; those
+ * are only built when holidays are handed out, e.g. for a JSON response.
+ *
+ * <p>A calendar is built once per fetch and also carries the data derived from its dates that
+ * queries need, such as the number of holidays on weekdays, so those are not recomputed per request.
+ *
+ * <p>A calendar served from expired data because the upstream API could not be reached is marked
+ * {@link #isStale() stale}; the mark is not part of its equality.
+ */
+public final class HolidayCalendar {
+
+    /**
+     * Number of {@code long} words in a day-of-year bitset; 6 x 64 bits cover 366 days.
+     */
+    public static final int YEAR_WORDS = 6;
+
+    public static final HolidayCalendar EMPTY = new HolidayCalendar(new int[0], new String[0]);
+
+    // Local names are drawn from a small vocabulary, so the dictionary stays small
+    private static final ConcurrentMap<String, String> NAMES = new ConcurrentHashMap<>();
+
+    private final int[] epochDays;
+    private final String[] localNames;
+    private final int weekdayCount;
+    private final long version;
+    private final boolean stale;
+
+    private HolidayCalendar(int[] epochDays, String[] localNames) {
+        this.epochDays = epochDays;
+        this.localNames = localNames;
+        this.stale = false;
+        int weekdays = 0;
+        for (int epochDay : epochDays) {
+            if (!isWeekend(epochDay)) {
+                weekdays++;
+            }
+        }
+        this.weekdayCount = weekdays;
+        // 64-bit FNV-1a over the dates and names, so equal datasets always get the same version
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < epochDays.length; i++) {
+            hash = (hash ^ epochDays[i]) * 0x100000001b3L;
+            hash = (hash ^ (localNames[i] == null ? 0 : localNames[i].hashCode())) * 0x100000001b3L;
+        }
+        this.version = hash;
+    }
+
+    private HolidayCalendar(HolidayCalendar calendar, boolean stale) {
+        this.epochDays = calendar.epochDays;
+        this.localNames = calendar.localNames;
+        this.weekdayCount = calendar.weekdayCount;
+        this.version = calendar.version;
+        this.stale = stale;
+    }
+
+    /**
+     * Encodes holidays in date order; holidays sharing a date keep their relative order.
+     *
+     * @param holidays the holidays to encode, none with a null date
+     * @return the compact calendar
+     */
+    public static HolidayCalendar of(List<Holiday> holidays) {
+        if (holidays.isEmpty()) {
+            return EMPTY;
+        }
+        Holiday[] sorted = holidays.toArray(Holiday[]::new);
+        Arrays.sort(sorted, Comparator.comparing(Holiday::getDate));
+        int[] epochDays = new int[sorted.length];
+        String[] localNames = new String[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            epochDays[i] = (int) sorted[i].getDate().toEpochDay();
+            localNames[i] = intern(sorted[i].getLocalName());
+        }
+        return new HolidayCalendar(epochDays, localNames);
+    }
+
+    /**
+     * Builds a calendar from already encoded data, e.g. read back from a snapshot.
+     *
+     * @param epochDays  the dates as epoch days, in ascending order
+     * @param localNames the local names, parallel to {@code epochDays}
+     * @return the compact calendar
+     */
+    public static HolidayCalendar ofEncoded(int[] epochDays, String[] localNames) {
+        if (epochDays.length != localNames.length) {
+            throw new IllegalArgumentException("epochDays and localNames must have the same length");
+        }
+        if (epochDays.length == 0) {
+            return EMPTY;
+        }
+        String[] names = new String[localNames.length];
+        for (int i = 0; i < localNames.length; i++) {
+            names[i] = intern(localNames[i]);
+        }
+        return new HolidayCalendar(epochDays.clone(), names);
+    }
+
+    /**
+     * Returns a content hash of the dataset, e.g. to build ETags: equal calendars have the same version,
+     * and a dataset amended upstream gets a different one.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Returns this calendar marked as stale, sharing its data.
+     */
+    public HolidayCalendar asStale() {
+        return stale ? this : new HolidayCalendar(this, true);
+    }
+
+    /**
+     * @return true if the holidays are the last known data, served because they could not be refreshed
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Starts a calendar that is filled one holiday at a time, e.g. while parsing, without
+     * building a {@link Holiday} per entry.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return epochDays.length;
+    }
+
+    public boolean isEmpty() {
+        return epochDays.length == 0;
+    }
+
+    public int epochDay(int index) {
+        return epochDays[index];
+    }
+
+    public String localName(int index) {
+        return localNames[index];
+    }
+
+    public LocalDate date(int index) {
+        return LocalDate.ofEpochDay(epochDays[index]);
+    }
+
+    /**
+     * Returns how many holidays fall on Monday through Friday, counting each holiday entry.
+     */
+    public int weekdayCount() {
+        return weekdayCount;
+    }
+
+    /**
+     * Materializes the holiday at an index.
+     */
+    public Holiday holiday(int index) {
+        return new Holiday(date(index), localNames[index]);
+    }
+
+    /**
+     * Returns a read-only view whose {@link Holiday} elements are built on access.
+     */
+    public List<Holiday> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Holiday get(int index) {
+                return holiday(index);
+            }
+
+            @Override
+            public int size() {
+                return epochDays.length;
+            }
+        };
+    }
+
+    /**
+     * Finds the first holiday on or after an epoch day.
+     *
+     * @param epochDay the epoch day to search for
+     * @return the index of the first holiday on or after {@code epochDay}, or {@link #size()} if none
+     */
+    public int indexOnOrAfter(int epochDay) {
+        int low = 0;
+        int high = epochDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochDays[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Splits the calendar into past and future: holidays {@code [0, result)} are on or before
+     * {@code epochDay}, the rest after it.
+     *
+     * @param epochDay the last day to count, e.g. today
+     * @return the number of holidays on or before {@code epochDay}
+     */
+    public int countOnOrBefore(int epochDay) {
+        return indexOnOrAfter(epochDay + 1);
+    }
+
+    /**
+     * Encodes the holiday dates that fall in a year as a bitset with bit {@code dayOfYear - 1}
+     * set, so calendars of several countries can be combined with word-wise AND/OR.
+     *
+     * @param year the year to encode
+     * @return {@link #YEAR_WORDS} words; dates outside the year are ignored
+     */
+    public long[] dayOfYearBits(int year) {
+        long[] bits = new long[YEAR_WORDS];
+        int firstDay = (int) LocalDate.of(year, 1, 1).toEpochDay();
+        int endDay = firstDay + Year.of(year).length();
+        for (int i = indexOnOrAfter(firstDay); i < epochDays.length && epochDays[i] < endDay; i++) {
+            int dayIndex = epochDays[i] - firstDay;
+            bits[dayIndex >>> 6] |= 1L << dayIndex;
+        }
+        return bits;
+    }
+
+    /**
+     * Checks if a given date falls on a weekend (Saturday or Sunday).
+     *
+     * @param epochDay the date to check, as an epoch day
+     * @return true if the date is a weekend, false otherwise
+     */
+    public static boolean isWeekend(int epochDay) {
+        // 1970-01-01 was a Thursday, so this yields 0 for Monday through 6 for Sunday
+        int dayOfWeek = Math.floorMod(epochDay + 3, 7);
+        return dayOfWeek >= DayOfWeek.SATURDAY.ordinal();
+    }
+
+    /**
+     * Accumulates holidays in any order; {@link #build()} puts them in date order, keeping the
+     * relative order of holidays sharing a date, as {@link #of(List)} does. Not thread-safe.
+     */
+    public static final class Builder {
+
+        private int[] epochDays = new int[32];
+        private String[] localNames = new String[32];
+        private int size;
+        private boolean sorted = true;
+
+        private Builder() {
+        }
+
+        public Builder add(int epochDay, String localName) {
+            if (size == epochDays.length) {
+                epochDays = Arrays.copyOf(epochDays, size * 2);
+                localNames = Arrays.copyOf(localNames, size * 2);
+            }
+            if (size > 0 && epochDay < epochDays[size - 1]) {
+                sorted = false;
+            }
+            epochDays[size] = epochDay;
+            localNames[size] = intern(localName);
+            size++;
+            return this;
+        }
+
+        public HolidayCalendar build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            int[] days = Arrays.copyOf(epochDays, size);
+            String[] names = Arrays.copyOf(localNames, size);
+            if (!sorted) {
+                // Insertion sort: stable, in place, and quick for the few dozen holidays of a year
+                for (int i = 1; i < size; i++) {
+                    int day = days[i];
+                    String name = names[i];
+                    int j = i - 1;
+                    for (; j >= 0 && days[j] > day; j--) {
+                        days[j + 1] = days[j];
+                        names[j + 1] = names[j];
+                    }
+                    days[j + 1] = day;
+                    names[j + 1] = name;
+                }
+            }
+            return new HolidayCalendar(days, names);
+        }
+    }
+
+    private static String intern(String name) {
+        return name == null ? null : NAMES.computeIfAbsent(name, key -> key);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        HolidayCalendar that = (HolidayCalendar) o;
+        return Arrays.equals(epochDays, that.epochDays) && Arrays.equals(localNames, that.localNames);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(epochDays) + Arrays.hashCode(localNames);
+    }
+
+    @Override
+    public String toString() {
+        return asList().toString();
+    }
+}
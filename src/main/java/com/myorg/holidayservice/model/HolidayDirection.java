@@ -0,0 +1,41 @@
+package com.myorg.holidayservice.model;
+
+import java.util.Locale;
+
+/**
+ * Which side of today a holiday lookup walks: past holidays (today included) most recent first,
+ * or future holidays soonest first.
+ */
+public enum HolidayDirection {
+
+    PAST(-1),
+    FUTURE(1);
+
+    private final int yearStep;
+
+    HolidayDirection(int yearStep) {
+        this.yearStep = yearStep;
+    }
+
+    /**
+     * @return -1 to continue in earlier years, 1 to continue in later years
+     */
+    public int getYearStep() {
+        return yearStep;
+    }
+
+    /**
+     * Parses a request parameter such as {@code past} or {@code FUTURE}.
+     *
+     * @param value the direction name, in any case
+     * @return the direction
+     * @throws IllegalArgumentException if the value is not a direction
+     */
+    public static HolidayDirection of(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("direction must be 'past' or 'future'");
+        }
+    }
+}
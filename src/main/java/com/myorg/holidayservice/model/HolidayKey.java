@@ -0,0 +1,25 @@
+package com.myorg.holidayservice.model;
+
+import lombok.Value;
+
+import java.util.Locale;
+
+/**
+ * Identifies the holiday dataset of one country for one year.
+ * Country codes are normalized to upper case so "us" and "US" share an entry.
+ */
+@Value
+public class HolidayKey {
+
+    int year;
+    String countryCode;
+
+    public static HolidayKey of(int year, String countryCode) {
+        return new HolidayKey(year, countryCode.toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public String toString() {
+        return year + "/" + countryCode;
+    }
+}
@@ -0,0 +1,41 @@
+package com.myorg.holidayservice.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One query of a bulk request. Which fields apply depends on the type:
+ * <ul>
+ *     <li>{@code holidays}: {@code countryCode}, and optionally {@code n} (1 to 100, default 3) and {@code direction}
+ *     ({@code past}, the default, or {@code future})</li>
+ *     <li>{@code count}: {@code year} and {@code countryCodes}; non-weekend holidays per country</li>
+ *     <li>{@code common}: {@code year}, {@code countryCodes} and optionally {@code minCountries}</li>
+ * </ul>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayQuery {
+
+    public enum Type {
+        @JsonProperty("holidays") HOLIDAYS,
+        @JsonProperty("count") COUNT,
+        @JsonProperty("common") COMMON
+    }
+
+    /**
+     * Optional caller-chosen identifier, echoed in the result.
+     */
+    private String id;
+    private Type type;
+    private String countryCode;
+    private Integer n;
+    private String direction;
+    private Integer year;
+    private List<String> countryCodes;
+    private Integer minCountries;
+}
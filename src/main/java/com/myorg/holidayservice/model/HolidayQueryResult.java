@@ -0,0 +1,28 @@
+package com.myorg.holidayservice.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * The outcome of one query of a bulk request: either its result, shaped like the response of the
+ * matching single-query endpoint, or why it failed.
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HolidayQueryResult {
+
+    private String id;
+    private HolidayQuery.Type type;
+    private Object result;
+    private String error;
+
+    public static HolidayQueryResult success(HolidayQuery query, Object result) {
+        return new HolidayQueryResult(query.getId(), query.getType(), result, null);
+    }
+
+    public static HolidayQueryResult failed(HolidayQuery query, String error) {
+        return new HolidayQueryResult(query.getId(), query.getType(), null, error);
+    }
+}
@@ -0,0 +1,240 @@
+package com.myorg.holidayservice.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A list of results that remembers what it was computed from: a version combining the
+ * {@link HolidayCalendar#version() versions} of the holiday datasets and any other inputs, used as
+ * the response ETag, and whether any dataset was {@link HolidayCalendar#isStale() stale}, so responses
+ * can say so. It also lists each dataset with its version, so a copy of the response can be checked
+ * against the datasets currently cached, and until when they hold if they are relative to the current day.
+ * It serializes as a plain JSON array. Once {@link #freeze() frozen} it can no longer be changed, so it
+ * can be shared between callers.
+ *
+ * @param <T> the element type
+ */
+public class HolidayResults<T> extends ArrayList<T> {
+
+    private long version = 1;
+    private boolean stale;
+    private Instant validUntil;
+    private final Map<HolidayKey, Long> sources = new LinkedHashMap<>();
+    private boolean frozen;
+
+    public HolidayResults() {
+    }
+
+    public HolidayResults(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    /**
+     * Records a holiday dataset the results were computed from.
+     *
+     * @param key      the (year, countryCode) key of the dataset
+     * @param calendar the dataset
+     * @return these results
+     */
+    public HolidayResults<T> derivedFrom(HolidayKey key, HolidayCalendar calendar) {
+        checkNotFrozen();
+        sources.put(key, calendar.version());
+        markStale(calendar.isStale());
+        return derivedFrom(calendar.version());
+    }
+
+    /**
+     * Records another input the results depend on, such as the day they are relative to.
+     *
+     * @param input the input, or a hash of it
+     * @return these results
+     */
+    public HolidayResults<T> derivedFrom(long input) {
+        checkNotFrozen();
+        // Order-dependent mix (the splitmix64 finalizer), so inputs cannot cancel each other out
+        long z = (version ^ input) + 0x9e3779b97f4a7c15L * version;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        version = z ^ (z >>> 31);
+        return this;
+    }
+
+    /**
+     * @return the combined version of every input recorded with {@code derivedFrom}
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the version of every dataset recorded with {@link #derivedFrom(HolidayKey, HolidayCalendar)}, by key
+     */
+    public Map<HolidayKey, Long> getSources() {
+        return Collections.unmodifiableMap(sources);
+    }
+
+    /**
+     * Records that the results only hold until an instant, e.g. the next midnight for results relative to today.
+     *
+     * @param validUntil the first instant the results may no longer be correct
+     * @return these results
+     */
+    public HolidayResults<T> validUntil(Instant validUntil) {
+        checkNotFrozen();
+        this.validUntil = validUntil;
+        return this;
+    }
+
+    /**
+     * @return until when the results hold, or null if they do not depend on the current time
+     */
+    public Instant getValidUntil() {
+        return validUntil;
+    }
+
+    /**
+     * Marks the results as stale if {@code stale} is true; a stale mark is never cleared.
+     *
+     * @param stale whether the data just used was stale
+     * @return these results
+     */
+    public HolidayResults<T> markStale(boolean stale) {
+        checkNotFrozen();
+        this.stale |= stale;
+        return this;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Makes the results read-only: from now on every method that would change the list or what it was
+     * derived from throws {@link UnsupportedOperationException}.
+     *
+     * @return these results
+     */
+    public HolidayResults<T> freeze() {
+        frozen = true;
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Frozen results cannot be changed");
+        }
+    }
+
+    // The iterators and sub-list of ArrayList change the list through these methods, except for
+    // sub-list writes, which is why a frozen list only hands out a read-only sub-list
+
+    @Override
+    public boolean add(T element) {
+        checkNotFrozen();
+        return super.add(element);
+    }
+
+    @Override
+    public void add(int index, T element) {
+        checkNotFrozen();
+        super.add(index, element);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> elements) {
+        checkNotFrozen();
+        return super.addAll(elements);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends T> elements) {
+        checkNotFrozen();
+        return super.addAll(index, elements);
+    }
+
+    @Override
+    public T set(int index, T element) {
+        checkNotFrozen();
+        return super.set(index, element);
+    }
+
+    @Override
+    public T remove(int index) {
+        checkNotFrozen();
+        return super.remove(index);
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        checkNotFrozen();
+        return super.remove(element);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> elements) {
+        checkNotFrozen();
+        return super.removeAll(elements);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> elements) {
+        checkNotFrozen();
+        return super.retainAll(elements);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        checkNotFrozen();
+        return super.removeIf(filter);
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        checkNotFrozen();
+        super.removeRange(fromIndex, toIndex);
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) {
+        checkNotFrozen();
+        super.replaceAll(operator);
+    }
+
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        checkNotFrozen();
+        super.sort(comparator);
+    }
+
+    @Override
+    public void clear() {
+        checkNotFrozen();
+        super.clear();
+    }
+
+    @Override
+    public List<T> subList(int fromIndex, int toIndex) {
+        List<T> subList = super.subList(fromIndex, toIndex);
+        return frozen ? Collections.unmodifiableList(subList) : subList;
+    }
+
+    /**
+     * @param body a response body
+     * @return true if the body is a result list computed from stale data
+     */
+    public static boolean isStale(Object body) {
+        return body instanceof HolidayResults<?> results && results.isStale();
+    }
+}
@@ -0,0 +1,22 @@
+package com.myorg.holidayservice.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class WorkingDayCheck {
+
+    private String countryCode;
+    private LocalDate date;
+    private boolean workingDay;
+
+    /**
+     * Local name of the holiday on this date; absent when the date is not a holiday.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String holiday;
+}
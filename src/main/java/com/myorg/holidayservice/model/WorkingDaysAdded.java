@@ -0,0 +1,16 @@
+package com.myorg.holidayservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class WorkingDaysAdded {
+
+    private String countryCode;
+    private LocalDate from;
+    private int workingDays;
+    private LocalDate date;
+}
@@ -0,0 +1,16 @@
+package com.myorg.holidayservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class WorkingDaysCount {
+
+    private String countryCode;
+    private LocalDate from;
+    private LocalDate to;
+    private int workingDays;
+}
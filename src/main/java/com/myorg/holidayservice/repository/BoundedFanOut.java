@@ -0,0 +1,85 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.HolidayProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs one asynchronous task per item with at most {@code concurrency} tasks in flight per call,
+ * and a deadline shared by the whole call. Each item gets its own future so callers can
+ * assemble partial results: items still pending when the deadline passes complete with a
+ * {@link java.util.concurrent.TimeoutException}, and items not yet started by then are skipped.
+ */
+@Component
+public class BoundedFanOut {
+
+    private final int concurrency;
+    private final Duration deadline;
+    private final Executor holidayExecutor;
+
+    @Autowired
+    public BoundedFanOut(HolidayProperties properties, Executor holidayExecutor) {
+        this(properties.getFanOut().getConcurrency(), properties.getFanOut().getDeadline(), holidayExecutor);
+    }
+
+    public BoundedFanOut(int concurrency, Duration deadline, Executor holidayExecutor) {
+        this.concurrency = concurrency;
+        this.deadline = deadline;
+        this.holidayExecutor = holidayExecutor;
+    }
+
+    /**
+     * Starts the task for every item, bounded by the configured concurrency.
+     *
+     * @param items the items to fan out over
+     * @param task  starts the asynchronous work for one item
+     * @return one future per item, in the order of {@code items}
+     */
+    public <T, R> List<CompletableFuture<R>> map(List<T> items, Function<T, CompletableFuture<R>> task) {
+        List<CompletableFuture<R>> results = items.stream()
+                .map(item -> new CompletableFuture<R>().orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS))
+                .toList();
+        AtomicInteger next = new AtomicInteger();
+        for (int i = 0; i < Math.min(concurrency, items.size()); i++) {
+            startNext(items, task, results, next);
+        }
+        return results;
+    }
+
+    private <T, R> void startNext(List<T> items, Function<T, CompletableFuture<R>> task,
+                                  List<CompletableFuture<R>> results, AtomicInteger next) {
+        int index = next.getAndIncrement();
+        while (index < items.size() && results.get(index).isDone()) {
+            // Timed out before it could start
+            index = next.getAndIncrement();
+        }
+        if (index >= items.size()) {
+            return;
+        }
+
+        CompletableFuture<R> result = results.get(index);
+        CompletableFuture<R> started;
+        try {
+            started = task.apply(items.get(index));
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        // Hand the freed slot to the next item on the executor, so cache hits never recurse
+        started.whenCompleteAsync((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+            startNext(items, task, results, next);
+        }, holidayExecutor);
+    }
+}
@@ -0,0 +1,18 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.model.HolidayCalendar;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Outcome of fetching one year for several countries. Both maps are keyed by the normalized
+ * country code in request order; every requested country appears in exactly one of them.
+ */
+@Value
+public class HolidayBatch {
+
+    int year;
+    Map<String, HolidayCalendar> holidays;
+    Map<String, Throwable> failures;
+}
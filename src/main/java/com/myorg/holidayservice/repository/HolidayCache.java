@@ -0,0 +1,201 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.HolidayProperties;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayKey;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.Year;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-memory cache of compact holiday calendars keyed by (year, countryCode).
+ * Entries are evicted in least-recently-used order once {@code maxSize} is reached,
+ * and expire after a TTL that depends on whether the year is past, current or future.
+ * Expired entries are no longer served by {@link #get(HolidayKey)} but are kept, until replaced or
+ * evicted, as the last known good data to fall back on while the upstream API is unavailable.
+ */
+@Component
+public class HolidayCache {
+
+    private final HolidayProperties.Cache properties;
+    private final Clock clock;
+    private final Map<HolidayKey, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    public HolidayCache(HolidayProperties properties, Clock clock) {
+        this.properties = properties.getCache();
+        this.clock = clock;
+        // Access-ordered map so the eldest entry is always the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<HolidayKey, Entry> eldest) {
+                if (size() > HolidayCache.this.properties.getMaxSize()) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Looks up the cached holidays for a key. Expired entries count as a miss.
+     *
+     * @param key the (year, countryCode) key
+     * @return the cached holidays, or empty on a miss
+     */
+    public Optional<HolidayCalendar> get(HolidayKey key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.getExpiresAt().isAfter(clock.instant())) {
+                hits.incrementAndGet();
+                return Optional.of(entry.getHolidays());
+            }
+            if (entry != null && !entry.isExpired()) {
+                entries.put(key, new Entry(entry.getHolidays(), entry.getExpiresAt(), true));
+                expirations.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * Looks up the unexpired holidays cached for a key without counting a hit or a miss.
+     * Used to re-check a key that already counted as a miss.
+     *
+     * @param key the (year, countryCode) key
+     * @return the cached holidays, or empty if the key is not cached or has expired
+     */
+    public Optional<HolidayCalendar> peek(HolidayKey key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            return entry != null && entry.getExpiresAt().isAfter(clock.instant())
+                    ? Optional.of(entry.getHolidays())
+                    : Optional.empty();
+        }
+    }
+
+    /**
+     * Looks up the holidays cached for a key whether or not they have expired, without counting
+     * a hit or a miss. Used to serve the last known data when it cannot be reloaded.
+     *
+     * @param key the (year, countryCode) key
+     * @return the cached holidays, possibly expired, or empty if the key is not cached
+     */
+    public Optional<HolidayCalendar> getStale(HolidayKey key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            return entry == null ? Optional.empty() : Optional.of(entry.getHolidays());
+        }
+    }
+
+    /**
+     * Stores the holidays for a key with the TTL for its year.
+     *
+     * @param key      the (year, countryCode) key
+     * @param holidays the holidays to cache
+     */
+    public void put(HolidayKey key, HolidayCalendar holidays) {
+        put(key, holidays, clock.instant());
+    }
+
+    /**
+     * Stores holidays that were fetched at an earlier time, e.g. restored from a snapshot.
+     * The TTL runs from {@code fetchedAt}, so entries that would already have expired are skipped.
+     *
+     * @param key       the (year, countryCode) key
+     * @param holidays  the holidays to cache
+     * @param fetchedAt when the holidays were fetched from the upstream API
+     */
+    public void put(HolidayKey key, HolidayCalendar holidays, Instant fetchedAt) {
+        Instant expiresAt = fetchedAt.plus(ttlFor(key.getYear()));
+        if (!expiresAt.isAfter(clock.instant())) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new Entry(holidays, expiresAt, false));
+        }
+    }
+
+    /**
+     * Returns when a cached entry expires, without counting a hit or a miss.
+     *
+     * @param key the (year, countryCode) key
+     * @return the expiry of the entry, or empty if the key is not cached
+     */
+    public Optional<Instant> expiresAt(HolidayKey key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            return entry == null ? Optional.empty() : Optional.of(entry.getExpiresAt());
+        }
+    }
+
+    /**
+     * Checks whether the holidays cached for a key are fresh and still the given version, without
+     * counting a hit or a miss. Used to tell whether a result computed from them is still valid.
+     *
+     * @param key     the (year, countryCode) key
+     * @param version the {@link HolidayCalendar#version() version} the result was computed from
+     * @return true if an unexpired entry of that version is cached
+     */
+    public boolean isCurrent(HolidayKey key, long version) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            return entry != null && entry.getHolidays().version() == version
+                    && entry.getExpiresAt().isAfter(clock.instant());
+        }
+    }
+
+    public void invalidate(HolidayKey key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public HolidayCacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new HolidayCacheStats(hits.get(), misses.get(), evictions.get(), expirations.get(),
+                size, properties.getMaxSize());
+    }
+
+    /**
+     * Resolves the TTL for a year relative to the current year of the injected clock.
+     */
+    Duration ttlFor(int year) {
+        int currentYear = Year.now(clock).getValue();
+        if (year < currentYear) {
+            return properties.getPastYearTtl();
+        }
+        return year == currentYear ? properties.getCurrentYearTtl() : properties.getFutureYearTtl();
+    }
+
+    @Value
+    private static class Entry {
+        HolidayCalendar holidays;
+        Instant expiresAt;
+        // Set once the expiry has been counted, so it is counted once per entry
+        boolean expired;
+    }
+}
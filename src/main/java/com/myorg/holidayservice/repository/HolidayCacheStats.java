@@ -0,0 +1,22 @@
+package com.myorg.holidayservice.repository;
+
+import lombok.Value;
+
+/**
+ * Point-in-time counters of the {@link HolidayCache}.
+ */
+@Value
+public class HolidayCacheStats {
+
+    long hits;
+    long misses;
+    long evictions;
+    long expirations;
+    int size;
+    int maxSize;
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,172 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.HolidayProperties;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayKey;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps popular cache entries loaded so requests are not the ones waiting on the upstream API.
+ *
+ * <p>Each run, on its own scheduler thread, reloads the entries that are missing or within
+ * {@code refreshAhead} of expiring, out of: the current and previous year of the configured
+ * countries, and the most requested keys. The first run after startup or after the year changes
+ * therefore preloads the new current and previous years. Reloads go through
+ * {@link HolidayRepository#refresh(HolidayKey)}, so they share in-flight calls with requests,
+ * and at most {@code concurrency} of them run at once.
+ */
+@Component
+public class HolidayCacheWarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(HolidayCacheWarmer.class);
+
+    // How often request counts are halved: keys must keep being requested to stay popular
+    private static final Duration DECAY_INTERVAL = Duration.ofHours(1);
+
+    private final HolidayProperties.Warmer properties;
+    private final HolidayRepository holidayRepository;
+    private final HolidayCache holidayCache;
+    private final HolidayKeyPopularity popularity;
+    private final Clock clock;
+    private final BoundedFanOut refreshFanOut;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "holiday-cache-warmer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile int warmedYear;
+    private Instant lastDecayAt;
+    private volatile Instant lastRunAt;
+    private volatile int lastRunRefreshed;
+    private volatile int lastRunFailed;
+    private final AtomicLong totalRefreshed = new AtomicLong();
+    private final AtomicLong totalFailed = new AtomicLong();
+
+    public HolidayCacheWarmer(HolidayProperties properties, HolidayRepository holidayRepository, HolidayCache holidayCache,
+                              HolidayKeyPopularity popularity, Clock clock, Executor holidayExecutor) {
+        this.properties = properties.getWarmer();
+        this.holidayRepository = holidayRepository;
+        this.holidayCache = holidayCache;
+        this.popularity = popularity;
+        this.clock = clock;
+        this.refreshFanOut = new BoundedFanOut(this.properties.getConcurrency(), this.properties.getTimeout(), holidayExecutor);
+    }
+
+    /**
+     * Starts the periodic runs once the application is ready to serve traffic.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long interval = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::runSafely, 0, interval, TimeUnit.MILLISECONDS);
+        logger.info("Holiday cache warmer started: countries {}, top {} keys, every {}",
+                properties.getCountries(), properties.getTopKeys(), properties.getInterval());
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void runSafely() {
+        try {
+            warm();
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the schedule
+            logger.warn("Holiday cache warm-up run failed: {}", e.toString());
+        }
+    }
+
+    /**
+     * Reloads every due entry and waits for the reloads to finish.
+     */
+    void warm() {
+        int year = Year.now(clock).getValue();
+        if (year != warmedYear) {
+            logger.info("Preloading holidays for {} and {}", year, year - 1);
+        }
+
+        List<HolidayKey> due = new ArrayList<>();
+        Instant refreshBefore = clock.instant().plus(properties.getRefreshAhead());
+        for (HolidayKey key : candidates(year)) {
+            Optional<Instant> expiresAt = holidayCache.expiresAt(key);
+            if (expiresAt.isEmpty() || expiresAt.get().isBefore(refreshBefore)) {
+                due.add(key);
+            }
+        }
+
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<HolidayCalendar>> refreshes = refreshFanOut.map(due, holidayRepository::refresh);
+        CompletableFuture.allOf(refreshes.stream()
+                        .map(refresh -> refresh.whenComplete((holidays, error) -> {
+                            if (error != null) {
+                                failed.incrementAndGet();
+                            }
+                        }).exceptionally(error -> null))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+
+        Instant now = clock.instant();
+        if (lastDecayAt == null) {
+            lastDecayAt = now;
+        } else if (!now.isBefore(lastDecayAt.plus(DECAY_INTERVAL))) {
+            popularity.decay();
+            lastDecayAt = now;
+        }
+        warmedYear = year;
+        lastRunAt = now;
+        lastRunRefreshed = due.size() - failed.get();
+        lastRunFailed = failed.get();
+        totalRefreshed.addAndGet(lastRunRefreshed);
+        totalFailed.addAndGet(lastRunFailed);
+        if (!due.isEmpty()) {
+            logger.info("Holiday cache warm-up refreshed {} entries, {} failed", lastRunRefreshed, lastRunFailed);
+        }
+    }
+
+    private Set<HolidayKey> candidates(int year) {
+        Set<HolidayKey> keys = new LinkedHashSet<>();
+        for (String country : properties.getCountries()) {
+            keys.add(HolidayKey.of(year, country.trim()));
+            keys.add(HolidayKey.of(year - 1, country.trim()));
+        }
+        keys.addAll(popularity.top(properties.getTopKeys()));
+        return keys;
+    }
+
+    public HolidayCacheWarmerStatus status() {
+        List<String> popularKeys = popularity.top(10).stream()
+                .map(key -> key + " (" + popularity.count(key) + ")")
+                .toList();
+        return new HolidayCacheWarmerStatus(properties.isEnabled(), warmedYear == 0 ? null : warmedYear, lastRunAt,
+                lastRunRefreshed, lastRunFailed, totalRefreshed.get(), totalFailed.get(),
+                popularity.trackedKeys(), popularKeys);
+    }
+}
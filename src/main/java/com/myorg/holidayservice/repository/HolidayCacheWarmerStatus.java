@@ -0,0 +1,27 @@
+package com.myorg.holidayservice.repository;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Snapshot of the cache warmer for the actuator endpoint.
+ */
+@Value
+public class HolidayCacheWarmerStatus {
+
+    boolean enabled;
+    Integer warmedYear;
+    Instant lastRunAt;
+    int lastRunRefreshed;
+    int lastRunFailed;
+    long totalRefreshed;
+    long totalFailed;
+    int trackedKeys;
+
+    /**
+     * The most requested keys with their decayed request counts, e.g. {@code "2025/US (42)"}.
+     */
+    List<String> popularKeys;
+}
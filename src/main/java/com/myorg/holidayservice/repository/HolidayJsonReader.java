@@ -0,0 +1,122 @@
+package com.myorg.holidayservice.repository;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.myorg.holidayservice.model.HolidayCalendar;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * Reads the upstream's holiday JSON, an array of objects with a {@code date} and a {@code localName},
+ * token by token straight into a {@link HolidayCalendar}. Every other field (name, counties, types, ...)
+ * is skipped without being materialized, dates are converted to epoch days from the parser's character
+ * buffer, and holidays without a date are dropped. No {@code Holiday} or {@code LocalDate} is built.
+ */
+public final class HolidayJsonReader {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private HolidayJsonReader() {
+    }
+
+    /**
+     * Reads a holiday array; the stream is not closed.
+     *
+     * @param in the JSON document
+     * @return the holidays, {@link HolidayCalendar#EMPTY} for an empty document or a JSON {@code null}
+     * @throws IOException if the document is not a holiday array or a date is invalid
+     */
+    public static HolidayCalendar read(InputStream in) throws IOException {
+        try (JsonParser parser = JSON.createParser(in)) {
+            return read(parser);
+        }
+    }
+
+    static HolidayCalendar read(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.VALUE_NULL) {
+            return HolidayCalendar.EMPTY;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected an array of holidays but found " + token);
+        }
+        HolidayCalendar.Builder holidays = HolidayCalendar.builder();
+        while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+            boolean hasDate = false;
+            int epochDay = 0;
+            String localName = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("date".equals(field) && value == JsonToken.VALUE_STRING) {
+                    epochDay = epochDay(parser);
+                    hasDate = true;
+                } else if ("localName".equals(field) && value == JsonToken.VALUE_STRING) {
+                    localName = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (hasDate) {
+                holidays.add(epochDay, localName);
+            }
+        }
+        if (token != JsonToken.END_ARRAY) {
+            throw new JsonParseException(parser, "Expected a holiday object but found " + token);
+        }
+        return holidays.build();
+    }
+
+    /**
+     * Converts the current {@code yyyy-MM-dd} string value to an epoch day.
+     */
+    private static int epochDay(JsonParser parser) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        if (parser.getTextLength() != 10 || chars[offset + 4] != '-' || chars[offset + 7] != '-') {
+            throw new JsonParseException(parser, "Invalid holiday date: " + parser.getText());
+        }
+        int year = digits(parser, chars, offset, 4);
+        int month = digits(parser, chars, offset + 5, 2);
+        int day = digits(parser, chars, offset + 8, 2);
+        if (month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+            throw new JsonParseException(parser, "Invalid holiday date: " + parser.getText());
+        }
+        return epochDay(year, month, day);
+    }
+
+    private static int digits(JsonParser parser, char[] chars, int offset, int count) throws IOException {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new JsonParseException(parser, "Invalid holiday date: " + parser.getText());
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Days since 1970-01-01 of a valid proleptic Gregorian date, computed like {@code LocalDate.toEpochDay()}.
+     */
+    static int epochDay(int year, int month, int day) {
+        long total = 365L * year;
+        total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367L * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!Year.isLeap(year)) {
+                total--;
+            }
+        }
+        // Days from year 0 to 1970
+        return (int) (total - 719528);
+    }
+}
@@ -0,0 +1,68 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.model.HolidayKey;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts requests per (year, countryCode) key so the cache warmer knows which entries are worth
+ * keeping fresh. Counts are halved on every {@link #decay()}, so the ranking follows recent traffic.
+ */
+@Component
+public class HolidayKeyPopularity {
+
+    // Enough for every country over several years; beyond that new keys are not tracked until a decay frees room
+    static final int MAX_TRACKED_KEYS = 10_000;
+
+    private final Map<HolidayKey, LongAdder> requests = new ConcurrentHashMap<>();
+
+    public void record(HolidayKey key) {
+        LongAdder count = requests.get(key);
+        if (count == null) {
+            if (requests.size() >= MAX_TRACKED_KEYS) {
+                return;
+            }
+            count = requests.computeIfAbsent(key, ignored -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    /**
+     * Returns the most requested keys, most popular first.
+     *
+     * @param limit the maximum number of keys to return
+     * @return up to {@code limit} keys
+     */
+    public List<HolidayKey> top(int limit) {
+        return requests.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<HolidayKey, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public long count(HolidayKey key) {
+        LongAdder count = requests.get(key);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Halves every count and forgets keys that drop to zero.
+     */
+    public void decay() {
+        requests.entrySet().removeIf(entry -> {
+            long halved = entry.getValue().sumThenReset() / 2;
+            entry.getValue().add(halved);
+            return halved == 0;
+        });
+    }
+
+    public int trackedKeys() {
+        return requests.size();
+    }
+}
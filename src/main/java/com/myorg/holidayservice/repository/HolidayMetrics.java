@@ -0,0 +1,98 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.HolidayProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Meters of the repository's upstream traffic:
+ * <ul>
+ *     <li>{@code holidays.upstream.requests}: timer of every upstream call with a percentile histogram,
+ *     tagged by {@code outcome} and by {@code country} for the configured countries only</li>
+ *     <li>{@code holidays.fanout.countries} and {@code holidays.fanout.fetches}: per multi-country
+ *     request, how many countries were asked for and how many of them had to be fetched upstream</li>
+ * </ul>
+ */
+@Component
+public class HolidayMetrics {
+
+    public static final String SUCCESS = "success";
+    public static final String CLIENT_ERROR = "client_error";
+    public static final String SERVER_ERROR = "server_error";
+    public static final String ERROR = "error";
+
+    private static final String OTHER_COUNTRY = "other";
+
+    private final MeterRegistry registry;
+    private final Set<String> taggedCountries;
+    private final DistributionSummary fanOutCountries;
+    private final DistributionSummary fanOutFetches;
+    private final Counter staleServed;
+
+    public HolidayMetrics(MeterRegistry registry, HolidayProperties properties) {
+        this.registry = registry;
+        this.taggedCountries = properties.getMetrics().getCountryTags().stream()
+                .map(code -> code.trim().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.fanOutCountries = DistributionSummary.builder("holidays.fanout.countries")
+                .description("Countries requested by one multi-country request")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.fanOutFetches = DistributionSummary.builder("holidays.fanout.fetches")
+                .description("Upstream fetches started by one multi-country request")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.staleServed = Counter.builder("holidays.stale.served")
+                .description("Datasets served from expired data while the upstream API was unavailable")
+                .register(registry);
+    }
+
+    public Timer.Sample startUpstreamCall() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * Records an upstream call started with {@link #startUpstreamCall()}.
+     *
+     * @param sample      the started sample
+     * @param countryCode the normalized country code of the call
+     * @param outcome     one of {@link #SUCCESS}, {@link #CLIENT_ERROR}, {@link #SERVER_ERROR} or {@link #ERROR}
+     */
+    public void recordUpstreamCall(Timer.Sample sample, String countryCode, String outcome) {
+        sample.stop(Timer.builder("holidays.upstream.requests")
+                .description("Calls to the upstream holiday API")
+                .tag("outcome", outcome)
+                .tag("country", taggedCountries.contains(countryCode) ? countryCode : OTHER_COUNTRY)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    public void recordFanOut(int countries, int fetches) {
+        fanOutCountries.record(countries);
+        fanOutFetches.record(fetches);
+    }
+
+    /**
+     * Records an upstream call rejected by the circuit breaker or the bulkhead.
+     *
+     * @param reason why the call was rejected
+     */
+    public void recordRejectedCall(UpstreamCircuitBreaker.Permission reason) {
+        Counter.builder("holidays.upstream.rejected")
+                .description("Upstream calls rejected without being made")
+                .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                .register(registry)
+                .increment();
+    }
+
+    public void recordStaleServed() {
+        staleServed.increment();
+    }
+}
@@ -1,23 +1,37 @@
 package com.myorg.holidayservice.repository;
 
-import com.myorg.holidayservice.model.Holiday;
-import lombok.AllArgsConstructor;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayKey;
+import jakarta.annotation.PostConstruct;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Repository;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
-import java.util.Arrays;
-import java.util.Collections;
+
+import java.time.Clock;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import com.myorg.holidayservice.exception.HolidayException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Repository class responsible for fetching holiday data from an external API.
+ * Repository class responsible for fetching holiday data, from the upstream API or another
+ * configured {@link HolidaySource}. Calls are non-blocking: results are delivered through
+ * {@link CompletableFuture}s, so no caller thread waits on the network.
+ * Fetched datasets are also written to a local snapshot, which warms the cache at startup
+ * and serves past years when the source is unreachable.
+ * While the source fails, e.g. because the upstream circuit breaker rejects calls,
+ * the last cached data of a key is served, marked as {@link HolidayCalendar#isStale() stale}.
  */
 
 @Repository
@@ -26,65 +40,206 @@ public class HolidayRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(HolidayRepository.class);
 
-    @Autowired
-    private RestTemplate restTemplate;
+    private final HolidaySource holidaySource;
+
+    private final HolidayCache holidayCache;
+
+    private final HolidaySnapshotStore snapshotStore;
+
+    private final Clock clock;
+
+    private final BoundedFanOut holidayFanOut;
 
-    @Value("${api.holidays.url}")
-    private final String apiUrl;
+    private final HolidayKeyPopularity popularity;
+
+    private final HolidayMetrics metrics;
+
+    private final RequestCoalescer<HolidayKey, HolidayCalendar> inFlightFetches = new RequestCoalescer<>();
 
     @Autowired
-    public HolidayRepository(RestTemplate restTemplate, @Value("${api.holidays.url}") String apiUrl) {
-        this.restTemplate = restTemplate;
-        this.apiUrl = apiUrl;
+    public HolidayRepository(HolidaySource holidaySource, HolidayCache holidayCache, HolidaySnapshotStore snapshotStore,
+                             Clock clock, BoundedFanOut holidayFanOut, HolidayKeyPopularity popularity, HolidayMetrics metrics) {
+        this.holidaySource = holidaySource;
+        this.holidayCache = holidayCache;
+        this.snapshotStore = snapshotStore;
+        this.clock = clock;
+        this.holidayFanOut = holidayFanOut;
+        this.popularity = popularity;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Loads the persisted snapshot into the cache so a restarted instance does not start cold.
+     * Snapshot entries keep the age they had when they were fetched.
+     */
+    @PostConstruct
+    public void warmCacheFromSnapshot() {
+        snapshotStore.forEach((key, snapshot) -> holidayCache.put(key, snapshot.getHolidays(), snapshot.getFetchedAt()));
     }
 
     /**
      * Fetches holidays for a given year and country code.
-     * Calls an internal method with error handling.
+     * Serves from the in-memory cache when possible, otherwise calls an internal
+     * method with error handling and caches the result. Failures are not cached.
+     * Concurrent misses for the same key share a single upstream call and its outcome.
+     * If the upstream call fails or is rejected by the circuit breaker, past years are served from the
+     * persisted snapshot and otherwise the expired cache entry is served, marked as stale.
      *
      * @param year        The year for which holidays are requested.
      * @param countryCode The country code for which holidays are requested.
-     * @return A list of holidays, or throws an exception if an error occurs.
+     * @return A future of the compact holiday calendar, completed with a {@link HolidayException} if an error occurs.
      */
-    public List<Holiday> fetchHolidays(int year, String countryCode) {
-        return safeFetchHolidays(year, countryCode);
+    public CompletableFuture<HolidayCalendar> fetchHolidays(int year, String countryCode) {
+        HolidayKey key = HolidayKey.of(year, countryCode);
+        popularity.record(key);
+        return holidayCache.get(key)
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(() -> load(key));
     }
 
     /**
-     * Fetches holidays from the external API with proper exception handling.
-     * Logs and throws an exception in case of failure.
+     * Fetches holidays of one year for several countries.
+     * Country codes are normalized and deduplicated; cached countries are answered directly and
+     * only the misses are fetched, with the concurrency and deadline of the bounded fan-out.
+     * A country whose fetch fails or misses the deadline is reported in {@link HolidayBatch#getFailures()}
+     * rather than failing the whole batch.
      *
-     * @param year        The year for which holidays are requested.
-     * @param countryCode The country code for which holidays are requested.
-     * @return A list of holidays, or throws an exception if an error occurs.
+     * @param year         The year for which holidays are requested.
+     * @param countryCodes The country codes for which holidays are requested.
+     * @return A future of the batch, completed once every country has a result or a failure.
+     */
+    public CompletableFuture<HolidayBatch> fetchHolidaysBatch(int year, Collection<String> countryCodes) {
+        Map<String, CompletableFuture<HolidayCalendar>> fetches = fetchHolidaysEach(year, countryCodes);
+        CompletableFuture<?>[] settled = fetches.values().stream().map(fetch -> fetch.handle((holidays, error) -> null)).toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(settled).thenApply(ignored -> {
+            Map<String, HolidayCalendar> holidays = new LinkedHashMap<>();
+            Map<String, Throwable> failures = new LinkedHashMap<>();
+            fetches.forEach((code, fetch) -> {
+                try {
+                    holidays.put(code, fetch.join());
+                } catch (CompletionException | CancellationException e) {
+                    failures.put(code, unwrap(e));
+                }
+            });
+            return new HolidayBatch(year, holidays, failures);
+        });
+    }
+
+    /**
+     * Fetches holidays of one year for several countries like {@link #fetchHolidaysBatch(int, Collection)},
+     * but hands out each country's future on its own, so callers can use every country as soon as it is loaded.
+     *
+     * @param year         The year for which holidays are requested.
+     * @param countryCodes The country codes for which holidays are requested.
+     * @return One future per normalized, deduplicated country code, in request order; cached countries are already complete.
      */
-    private List<Holiday> safeFetchHolidays(int year, String countryCode) {
-        String url = buildUrl(year, countryCode);
-        try {
-            ResponseEntity<Holiday[]> response = restTemplate.getForEntity(url, Holiday[].class);
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                return Arrays.stream(response.getBody())
-                        .filter(holiday -> holiday.getDate() != null) // Ensure valid date
-                        .toList();
-            } else {
-                logger.warn("No holidays found or failed to fetch holidays for {} in {}. Status code: {}", countryCode, year, response.getStatusCode());
-                return Collections.emptyList();
+    public Map<String, CompletableFuture<HolidayCalendar>> fetchHolidaysEach(int year, Collection<String> countryCodes) {
+        Set<String> codes = new LinkedHashSet<>();
+        for (String countryCode : countryCodes) {
+            codes.add(HolidayKey.of(year, countryCode.trim()).getCountryCode());
+        }
+        Map<String, CompletableFuture<HolidayCalendar>> fetches = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String code : codes) {
+            popularity.record(HolidayKey.of(year, code));
+            Optional<HolidayCalendar> cached = holidayCache.get(HolidayKey.of(year, code));
+            fetches.put(code, cached.map(CompletableFuture::completedFuture).orElse(null));
+            if (cached.isEmpty()) {
+                misses.add(code);
             }
-        } catch (RestClientException e) {
-            logger.error("Error fetching holidays for {} in {}: {}", countryCode, year, e.getMessage(), e);
-            throw new HolidayException("Failed to fetch holidays from external service", e);  // Custom exception for handling in controller
         }
+
+        metrics.recordFanOut(codes.size(), misses.size());
+        List<CompletableFuture<HolidayCalendar>> loads = holidayFanOut.map(misses, code -> load(HolidayKey.of(year, code)));
+        for (int i = 0; i < misses.size(); i++) {
+            fetches.put(misses.get(i), loads.get(i));
+        }
+        return fetches;
     }
 
     /**
-     * Builds the URL for the external holidays API.
+     * Checks, without loading anything, whether a dataset a result was computed from is still the
+     * one {@link #fetchHolidays(int, String)} would return.
      *
-     * @param year        The year for the API request.
-     * @param countryCode The country code for the API request.
-     * @return The full URL as a String.
+     * @param key     The (year, countryCode) key of the dataset.
+     * @param version The {@link HolidayCalendar#version() version} the result was computed from.
+     * @return true if that version is cached and has not expired.
      */
-    private String buildUrl(int year, String countryCode) {
-        return String.format("%s%s/%s", apiUrl, year, countryCode);
+    public boolean isCurrent(HolidayKey key, long version) {
+        return holidayCache.isCurrent(key, version);
+    }
+
+    /**
+     * Counts a request for a dataset that is answered without {@link #fetchHolidays(int, String)}, e.g. from a
+     * result memoized upstream of this repository, so the cache warmer still sees the key as popular.
+     *
+     * @param key The (year, countryCode) key of the dataset.
+     */
+    public void recordRequest(HolidayKey key) {
+        popularity.record(key);
+    }
+
+    /**
+     * Reloads holidays from the holiday source regardless of what is cached, replacing the cached
+     * entry on success. Used to refresh entries ahead of their expiry; the current entry keeps
+     * being served until the reload completes.
+     *
+     * @param key The (year, countryCode) key to reload.
+     * @return A future of the reloaded calendar.
+     */
+    public CompletableFuture<HolidayCalendar> refresh(HolidayKey key) {
+        return inFlightFetches.execute(key, () -> fetchAndCache(key));
+    }
+
+    /**
+     * Loads a key that missed the cache from the holiday source and caches the result.
+     * Failures are not cached. Concurrent misses for the same key share a single source call and its outcome.
+     * The cache is checked again once the call is ours, since a load that just completed may have cached
+     * the key between the caller's miss and now.
+     */
+    private CompletableFuture<HolidayCalendar> load(HolidayKey key) {
+        return inFlightFetches.execute(key, () -> holidayCache.peek(key)
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(() -> fetchAndCache(key)));
+    }
+
+    private CompletableFuture<HolidayCalendar> fetchAndCache(HolidayKey key) {
+        return holidaySource.fetch(key)
+                .thenApply(found -> {
+                    // No source has data for the key, which the upstream API answers with an empty list too
+                    HolidayCalendar holidays = found.orElse(HolidayCalendar.EMPTY);
+                    // Cache before the in-flight call is released so late arrivals find the entry
+                    holidayCache.put(key, holidays);
+                    snapshotStore.save(key, holidays, clock.instant());
+                    return holidays;
+                })
+                .exceptionally(e -> fallback(key, e));
     }
-}
 
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    /**
+     * Serves a key whose load failed from the data already at hand. Past years no longer change
+     * upstream, so their persisted snapshot is served as is. Otherwise the last known data of the key,
+     * its expired cache entry, is served marked as stale; the snapshot is not used for current and
+     * future years since it may predate amendments made upstream. Without either, the load fails.
+     */
+    private HolidayCalendar fallback(HolidayKey key, Throwable error) {
+        if (key.getYear() < Year.now(clock).getValue()) {
+            HolidayCalendar holidays = snapshotStore.load(key).map(HolidaySnapshotStore.HolidaySnapshot::getHolidays).orElse(null);
+            if (holidays != null) {
+                logger.warn("Serving holidays for {} from the local snapshot: upstream call failed", key);
+                return holidays;
+            }
+        }
+        HolidayCalendar lastKnown = holidayCache.getStale(key).orElse(null);
+        if (lastKnown != null) {
+            logger.warn("Serving stale holidays for {}: {}", key, unwrap(error).getMessage());
+            metrics.recordStaleServed();
+            return lastKnown.asStale();
+        }
+        throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+    }
+}
@@ -0,0 +1,308 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.HolidayProperties;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayKey;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Persists fetched holiday datasets to a local append-only log so the service can start warm
+ * and keep serving past years while the upstream API is unreachable.
+ *
+ * <p>The file starts with a magic number and is followed by length-prefixed records of
+ * {@code year, countryCode, fetchedAt, count, (epochDay, localName)*}. A later record for the
+ * same key supersedes earlier ones; only the offset of the latest record per key is kept in
+ * memory and records are read back on demand. Superseded records are dropped when the file is
+ * compacted at startup, and a truncated or corrupt tail (e.g. after a crash) is discarded.
+ */
+@Component
+public class HolidaySnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(HolidaySnapshotStore.class);
+
+    private static final int MAGIC = 0x484F4C31; // "HOL1"
+    private static final int HEADER_LENGTH = Integer.BYTES;
+
+    private final boolean enabled;
+    private final Path path;
+
+    private final Map<HolidayKey, Long> offsets = new ConcurrentHashMap<>();
+    // Version of the latest record per key; only touched by the writer thread once open
+    private final Map<HolidayKey, Long> versions = new ConcurrentHashMap<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "holiday-snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private FileChannel channel;
+
+    public HolidaySnapshotStore(HolidayProperties properties) {
+        this.enabled = properties.getSnapshot().isEnabled();
+        this.path = Path.of(properties.getSnapshot().getPath());
+    }
+
+    /**
+     * Indexes the existing snapshot file, compacting it when it holds superseded records.
+     */
+    @PostConstruct
+    public void open() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            int records = Files.exists(path) ? index() : 0;
+            if (records > offsets.size()) {
+                compact();
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (channel.size() == 0) {
+                channel.write(ByteBuffer.allocate(HEADER_LENGTH).putInt(0, MAGIC));
+            }
+            logger.info("Loaded holiday snapshot {} with {} datasets", path, offsets.size());
+        } catch (IOException e) {
+            logger.warn("Holiday snapshot {} is unavailable, continuing without it: {}", path, e.getMessage());
+            offsets.clear();
+            versions.clear();
+            channel = null;
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Appends a dataset in the background; empty datasets are not persisted. When the latest record of
+     * the key already holds the same dataset, as after most reloads, only its fetch time is updated in
+     * place, so periodic refreshes do not grow the file.
+     *
+     * @return a future completed once the record has been written
+     */
+    public CompletableFuture<Void> save(HolidayKey key, HolidayCalendar holidays, Instant fetchedAt) {
+        if (channel == null || holidays.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        byte[] record = encode(key, holidays, fetchedAt);
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Long latest = offsets.get(key);
+                if (latest != null && Long.valueOf(holidays.version()).equals(versions.get(key))) {
+                    ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(fetchedAt.toEpochMilli()).flip();
+                    long position = latest + Integer.BYTES + fetchedAtPosition(key);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer, position + buffer.position());
+                    }
+                    return;
+                }
+                long offset = channel.size();
+                ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + record.length).putInt(record.length).put(record).flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer, offset + buffer.position());
+                }
+                offsets.put(key, offset);
+                versions.put(key, holidays.version());
+            } catch (IOException e) {
+                logger.warn("Failed to write holiday snapshot for {}: {}", key, e.getMessage());
+            }
+        }, writer);
+    }
+
+    /**
+     * Reads the latest persisted dataset for a key.
+     */
+    public Optional<HolidaySnapshot> load(HolidayKey key) {
+        Long offset = offsets.get(key);
+        if (channel == null || offset == null) {
+            return Optional.empty();
+        }
+        try {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, offset);
+            ByteBuffer record = ByteBuffer.allocate(length.flip().getInt());
+            channel.read(record, offset + Integer.BYTES);
+            return Optional.of(decode(new DataInputStream(new ByteArrayInputStream(record.array()))).snapshot);
+        } catch (IOException e) {
+            logger.warn("Failed to read holiday snapshot for {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Visits the latest persisted dataset of every key.
+     */
+    public void forEach(BiConsumer<HolidayKey, HolidaySnapshot> action) {
+        offsets.keySet().forEach(key -> load(key).ifPresent(snapshot -> action.accept(key, snapshot)));
+    }
+
+    /**
+     * Builds the offset index from the file, truncating a partially written or corrupt trailing record.
+     * A record whose length does not fit in the rest of the file, or that cannot be decoded, ends the log.
+     *
+     * @return the number of complete records in the file
+     */
+    private int index() throws IOException {
+        int records = 0;
+        long offset = HEADER_LENGTH;
+        long size = Files.size(path);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("not a holiday snapshot file");
+            }
+            while (offset < size) {
+                int length = in.readInt();
+                if (length < 0 || length > size - offset - Integer.BYTES) {
+                    break;
+                }
+                byte[] record = new byte[length];
+                in.readFully(record);
+                Record decoded;
+                try {
+                    decoded = decode(new DataInputStream(new ByteArrayInputStream(record)));
+                } catch (IOException e) {
+                    break;
+                }
+                offsets.put(decoded.key, offset);
+                versions.put(decoded.key, decoded.snapshot.getHolidays().version());
+                offset += Integer.BYTES + length;
+                records++;
+            }
+        } catch (EOFException e) {
+            // End of the log in the middle of a record
+        }
+        // Anything past the last complete record is a partial write or corrupt
+        if (size > offset) {
+            logger.warn("Discarding truncated or corrupt records at the end of holiday snapshot {}", path);
+            try (FileChannel truncate = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                truncate.truncate(offset);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Rewrites the file with only the latest record per key and swaps it in atomically.
+     */
+    private void compact() throws IOException {
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        Map<HolidayKey, Long> compactedOffsets = new ConcurrentHashMap<>();
+        try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ);
+             DataOutputStream out = new DataOutputStream(Channels.newOutputStream(FileChannel.open(compacted,
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)))) {
+            out.writeInt(MAGIC);
+            long offset = HEADER_LENGTH;
+            for (Map.Entry<HolidayKey, Long> entry : offsets.entrySet()) {
+                ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+                source.read(length, entry.getValue());
+                ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + length.flip().getInt());
+                source.read(record, entry.getValue());
+                out.write(record.array());
+                compactedOffsets.put(entry.getKey(), offset);
+                offset += record.capacity();
+            }
+        }
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        offsets.clear();
+        offsets.putAll(compactedOffsets);
+    }
+
+    private static byte[] encode(HolidayKey key, HolidayCalendar holidays, Instant fetchedAt) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + holidays.size() * 24);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(key.getYear());
+            out.writeUTF(key.getCountryCode());
+            out.writeLong(fetchedAt.toEpochMilli());
+            out.writeInt(holidays.size());
+            for (int i = 0; i < holidays.size(); i++) {
+                out.writeInt(holidays.epochDay(i));
+                out.writeBoolean(holidays.localName(i) != null);
+                if (holidays.localName(i) != null) {
+                    out.writeUTF(holidays.localName(i));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return the position of {@code fetchedAt} within a record of the key, after its year and country code
+     */
+    private static int fetchedAtPosition(HolidayKey key) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(key.getYear());
+            out.writeUTF(key.getCountryCode());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.size();
+    }
+
+    private static Record decode(DataInputStream in) throws IOException {
+        HolidayKey key = HolidayKey.of(in.readInt(), in.readUTF());
+        Instant fetchedAt = Instant.ofEpochMilli(in.readLong());
+        int count = in.readInt();
+        // Every holiday takes at least its epoch day and name flag
+        if (count < 0 || count > in.available() / (Integer.BYTES + 1)) {
+            throw new IOException("corrupt holiday snapshot record");
+        }
+        int[] epochDays = new int[count];
+        String[] localNames = new String[count];
+        for (int i = 0; i < count; i++) {
+            epochDays[i] = in.readInt();
+            localNames[i] = in.readBoolean() ? in.readUTF() : null;
+        }
+        return new Record(key, new HolidaySnapshot(HolidayCalendar.ofEncoded(epochDays, localNames), fetchedAt));
+    }
+
+    private record Record(HolidayKey key, HolidaySnapshot snapshot) {
+    }
+
+    /**
+     * A persisted dataset and the time it was fetched from the upstream API.
+     */
+    @Value
+    public static class HolidaySnapshot {
+        HolidayCalendar holidays;
+        Instant fetchedAt;
+    }
+}
@@ -0,0 +1,24 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayKey;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Where {@link HolidayRepository} loads holiday datasets from on a cache miss: the upstream HTTP API
+ * ({@link HttpHolidaySource}), a dataset shipped with or next to the service ({@link LocalHolidaySource}),
+ * or several of them in order ({@link TieredHolidaySource}). Selected with {@code api.holidays.source.type}.
+ */
+public interface HolidaySource {
+
+    /**
+     * Loads the holidays of a (year, countryCode) pair.
+     *
+     * @param key the (year, countryCode) key, with a normalized country code
+     * @return a future of the holidays, of empty if this source has no data for the key, or completed
+     * with a {@link com.myorg.holidayservice.exception.HolidayException} if the source failed
+     */
+    CompletableFuture<Optional<HolidayCalendar>> fetch(HolidayKey key);
+}
@@ -0,0 +1,150 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.exception.HolidayException;
+import com.myorg.holidayservice.exception.UpstreamUnavailableException;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayKey;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Loads holidays from the upstream HTTP API at {@code api.holidays.url}. Calls are non-blocking:
+ * results are delivered through {@link CompletableFuture}s completed by the pooled HTTP client, so no
+ * caller thread waits on the network. Every call goes through the {@link UpstreamCircuitBreaker} and
+ * is timed by {@link HolidayMetrics}.
+ */
+public class HttpHolidaySource implements HolidaySource {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpHolidaySource.class);
+
+    // A year of one country is a few kilobytes; larger bodies are rejected rather than buffered
+    private static final int MAX_RESPONSE_BYTES = 256 * 1024;
+
+    private final WebClient webClient;
+    private final String apiUrl;
+    private final HolidayMetrics metrics;
+    private final UpstreamCircuitBreaker circuitBreaker;
+
+    public HttpHolidaySource(WebClient webClient, String apiUrl, HolidayMetrics metrics, UpstreamCircuitBreaker circuitBreaker) {
+        this.webClient = webClient;
+        this.apiUrl = apiUrl;
+        this.metrics = metrics;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The upstream answers every key: countries or years it does not know yield an empty calendar.
+     */
+    @Override
+    public CompletableFuture<Optional<HolidayCalendar>> fetch(HolidayKey key) {
+        return guardedFetchHolidays(key.getYear(), key.getCountryCode()).thenApply(Optional::of);
+    }
+
+    /**
+     * Calls the upstream API through the circuit breaker and bulkhead, failing fast with an
+     * {@link UpstreamUnavailableException} when they reject the call. Only server errors, I/O failures
+     * and timeouts count against the upstream; a 4xx answer is a deliberate response.
+     */
+    private CompletableFuture<HolidayCalendar> guardedFetchHolidays(int year, String countryCode) {
+        UpstreamCircuitBreaker.Permission permission = circuitBreaker.tryAcquire();
+        if (permission != UpstreamCircuitBreaker.Permission.PERMITTED) {
+            metrics.recordRejectedCall(permission);
+            return CompletableFuture.failedFuture(new UpstreamUnavailableException(
+                    permission == UpstreamCircuitBreaker.Permission.CIRCUIT_OPEN
+                            ? "Holiday API is unavailable, calls are suspended"
+                            : "Holiday API is overloaded, too many calls in flight"));
+        }
+        CompletableFuture<HolidayCalendar> fetch;
+        try {
+            fetch = safeFetchHolidays(year, countryCode);
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            throw e;
+        }
+        return fetch.whenComplete((holidays, error) -> {
+            if (error == null) {
+                circuitBreaker.onSuccess();
+            } else {
+                circuitBreaker.onFailure();
+            }
+        });
+    }
+
+    /**
+     * Fetches holidays from the external API with proper exception handling.
+     * Non-2xx responses other than server errors are logged and yield an empty list;
+     * server errors, I/O and decoding failures complete the future with a {@link HolidayException}.
+     *
+     * @param year        The year for which holidays are requested.
+     * @param countryCode The country code for which holidays are requested.
+     * @return A future of the compact holiday calendar.
+     */
+    private CompletableFuture<HolidayCalendar> safeFetchHolidays(int year, String countryCode) {
+        String url = buildUrl(year, countryCode);
+        Timer.Sample sample = metrics.startUpstreamCall();
+        AtomicReference<String> outcome = new AtomicReference<>(HolidayMetrics.ERROR);
+        return webClient.get()
+                .uri(url)
+                .<HolidayCalendar>exchangeToMono(response -> {
+                    if (response.statusCode().is2xxSuccessful()) {
+                        outcome.set(HolidayMetrics.SUCCESS);
+                        return DataBufferUtils.join(response.body(BodyExtractors.toDataBuffers()), MAX_RESPONSE_BYTES)
+                                .map(HttpHolidaySource::parse)
+                                .defaultIfEmpty(HolidayCalendar.EMPTY);
+                    }
+                    if (response.statusCode().is5xxServerError()) {
+                        outcome.set(HolidayMetrics.SERVER_ERROR);
+                        return response.<HolidayCalendar>createError();
+                    }
+                    outcome.set(HolidayMetrics.CLIENT_ERROR);
+                    logger.warn("No holidays found or failed to fetch holidays for {} in {}. Status code: {}", countryCode, year, response.statusCode());
+                    return response.releaseBody().then(Mono.just(HolidayCalendar.EMPTY));
+                })
+                .onErrorMap(e -> {
+                    if (!HolidayMetrics.SERVER_ERROR.equals(outcome.get())) {
+                        // I/O, timeout or decoding failure, including after a 2xx status
+                        outcome.set(HolidayMetrics.ERROR);
+                    }
+                    logger.error("Error fetching holidays for {} in {}: {}", countryCode, year, e.getMessage(), e);
+                    return new HolidayException("Failed to fetch holidays from external service", e);  // Custom exception for handling in controller
+                })
+                .doFinally(signal -> metrics.recordUpstreamCall(sample, countryCode, outcome.get()))
+                .toFuture();
+    }
+
+    /**
+     * Parses a response body straight into the compact calendar and releases its buffer.
+     */
+    private static HolidayCalendar parse(DataBuffer body) {
+        try (InputStream in = body.asInputStream(true)) {
+            return HolidayJsonReader.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds the URL for the external holidays API.
+     *
+     * @param year        The year for the API request.
+     * @param countryCode The country code for the API request.
+     * @return The full URL as a String.
+     */
+    private String buildUrl(int year, String countryCode) {
+        return String.format("%s%s/%s", apiUrl, year, countryCode);
+    }
+}
@@ -0,0 +1,75 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.exception.HolidayException;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Serves holidays from a dataset laid out like the upstream API: {@code {location}/{year}/{countryCode}.json}
+ * holds the upstream's JSON response for that key, so a dataset can be captured from the API as is.
+ * The location is a Spring resource location, e.g. {@code classpath:holidays} or {@code file:/data/holidays}.
+ *
+ * <p>Each file is read once, on first use, and kept in memory so later fetches of the key complete
+ * immediately. Only datasets that exist are kept, so memory is bounded by the dataset whatever keys
+ * clients ask for. Country codes other than two letters have no dataset and are never turned into a path.
+ */
+public class LocalHolidaySource implements HolidaySource {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalHolidaySource.class);
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private static final Pattern COUNTRY_CODE = Pattern.compile("[A-Z]{2}");
+
+    private final ConcurrentMap<HolidayKey, HolidayCalendar> datasets = new ConcurrentHashMap<>();
+
+    public LocalHolidaySource(ResourceLoader resourceLoader, String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location.endsWith("/") ? location : location + "/";
+    }
+
+    @Override
+    public CompletableFuture<Optional<HolidayCalendar>> fetch(HolidayKey key) {
+        try {
+            HolidayCalendar cached = datasets.get(key);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(Optional.of(cached));
+            }
+            Optional<HolidayCalendar> holidays = read(key);
+            holidays.ifPresent(found -> datasets.putIfAbsent(key, found));
+            return CompletableFuture.completedFuture(holidays);
+        } catch (HolidayException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Optional<HolidayCalendar> read(HolidayKey key) {
+        if (!COUNTRY_CODE.matcher(key.getCountryCode()).matches()) {
+            return Optional.empty();
+        }
+        Resource resource = resourceLoader.getResource(location + key.getYear() + "/" + key.getCountryCode() + ".json");
+        if (!resource.exists()) {
+            return Optional.empty();
+        }
+        try (InputStream in = resource.getInputStream()) {
+            HolidayCalendar holidays = HolidayJsonReader.read(in);
+            logger.debug("Loaded {} holidays for {} from {}", holidays.size(), key, resource.getDescription());
+            return Optional.of(holidays);
+        } catch (IOException e) {
+            logger.error("Could not read holidays for {} from {}: {}", key, resource.getDescription(), e.getMessage());
+            throw new HolidayException("Failed to read holidays from the local dataset", e);
+        }
+    }
+}
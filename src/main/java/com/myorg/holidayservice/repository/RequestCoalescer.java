@@ -0,0 +1,57 @@
+package com.myorg.holidayservice.repository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into a single in-flight call ("single flight").
+ * The first caller for a key starts the loader; callers arriving while it is running get the
+ * same future and share its outcome, including any exception. Nothing is retained once the
+ * call completes.
+ *
+ * @param <K> the key type
+ * @param <V> the loaded value type
+ */
+public class RequestCoalescer<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Starts the loader for the key, or joins the call already in flight for it.
+     *
+     * @param key    the key identifying the load
+     * @param loader starts the call when no load for the key is in flight
+     * @return a future completed with the outcome of the shared call
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            loader.get().whenComplete((value, error) -> {
+                // Release the key before waking callers so a follow-up load is never joined to this one
+                inFlight.remove(key, call);
+                if (error != null) {
+                    call.completeExceptionally(error);
+                } else {
+                    call.complete(value);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+        }
+        return call;
+    }
+
+    /**
+     * @return the number of keys with a call currently in flight
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
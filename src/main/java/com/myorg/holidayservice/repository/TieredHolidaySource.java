@@ -0,0 +1,34 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayKey;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asks its sources in order and returns the first dataset found, e.g. a local dataset first and the
+ * upstream API only for keys it does not cover. A failing source fails the fetch; it is not skipped.
+ */
+public class TieredHolidaySource implements HolidaySource {
+
+    private final List<HolidaySource> sources;
+
+    public TieredHolidaySource(List<HolidaySource> sources) {
+        this.sources = List.copyOf(sources);
+    }
+
+    @Override
+    public CompletableFuture<Optional<HolidayCalendar>> fetch(HolidayKey key) {
+        return fetch(key, 0);
+    }
+
+    private CompletableFuture<Optional<HolidayCalendar>> fetch(HolidayKey key, int tier) {
+        if (tier == sources.size()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return sources.get(tier).fetch(key).thenCompose(holidays ->
+                holidays.isPresent() ? CompletableFuture.completedFuture(holidays) : fetch(key, tier + 1));
+    }
+}
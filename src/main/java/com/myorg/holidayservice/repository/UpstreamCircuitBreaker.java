@@ -0,0 +1,188 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.HolidayProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Circuit breaker and bulkhead in front of the upstream holiday API.
+ *
+ * <p>The breaker keeps the outcomes of the last {@code slidingWindowSize} calls. Once at least
+ * {@code minimumCalls} were made and the share of failures reaches {@code failureRateThreshold},
+ * it opens and rejects every call for {@code openDuration}, so callers fail fast instead of waiting
+ * on timeouts of an upstream that is down. It then half-opens: {@code halfOpenCalls} trial calls are
+ * let through, and it closes when all of them succeed or opens again on the first failure.
+ *
+ * <p>The bulkhead caps the calls in flight at {@code maxConcurrentCalls}; calls beyond it are
+ * rejected at once rather than queued, so a slow upstream cannot pile up pending requests.
+ *
+ * <p>Every permitted call must be followed by exactly one {@link #onSuccess()} or {@link #onFailure()}.
+ */
+@Component
+public class UpstreamCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamCircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    public enum Permission {
+        PERMITTED,
+        CIRCUIT_OPEN,
+        BULKHEAD_FULL
+    }
+
+    private final HolidayProperties.CircuitBreaker properties;
+    private final Clock clock;
+    private final Semaphore bulkhead;
+
+    // Ring buffer of the last call outcomes, true for a failure; guarded by this
+    private final boolean[] window;
+    private int windowNext;
+    private int windowCalls;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private Instant openedAt;
+    private int trialCalls;
+    private int trialSuccesses;
+
+    public UpstreamCircuitBreaker(HolidayProperties properties, Clock clock) {
+        this.properties = properties.getCircuitBreaker();
+        this.clock = clock;
+        this.bulkhead = new Semaphore(this.properties.getMaxConcurrentCalls());
+        this.window = new boolean[this.properties.getSlidingWindowSize()];
+    }
+
+    /**
+     * Asks to make an upstream call.
+     *
+     * @return {@link Permission#PERMITTED} if the call may go ahead, otherwise why it is rejected
+     */
+    public Permission tryAcquire() {
+        if (!bulkhead.tryAcquire()) {
+            return Permission.BULKHEAD_FULL;
+        }
+        synchronized (this) {
+            if (permitCall()) {
+                return Permission.PERMITTED;
+            }
+        }
+        bulkhead.release();
+        return Permission.CIRCUIT_OPEN;
+    }
+
+    /**
+     * Records that a permitted call succeeded. Responses the upstream answers on purpose, such as
+     * an unknown country, count as successes.
+     */
+    public void onSuccess() {
+        bulkhead.release();
+        record(false);
+    }
+
+    /**
+     * Records that a permitted call failed with a server error, an I/O failure or a timeout.
+     */
+    public void onFailure() {
+        bulkhead.release();
+        record(true);
+    }
+
+    /**
+     * @return the current state; an open breaker whose open duration is over reports {@link State#OPEN}
+     * until the next call moves it to {@link State#HALF_OPEN}
+     */
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * @return how many more upstream calls the bulkhead lets through right now
+     */
+    public int availableConcurrentCalls() {
+        return bulkhead.availablePermits();
+    }
+
+    private boolean permitCall() {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(openedAt.plus(properties.getOpenDuration()))) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+            trialCalls = 0;
+            trialSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialCalls >= properties.getHalfOpenCalls()) {
+                return false;
+            }
+            trialCalls++;
+        }
+        return true;
+    }
+
+    private synchronized void record(boolean failure) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        switch (state) {
+            case HALF_OPEN -> {
+                if (failure) {
+                    open();
+                } else if (++trialSuccesses >= properties.getHalfOpenCalls()) {
+                    close();
+                }
+            }
+            case CLOSED -> {
+                if (windowCalls == window.length) {
+                    windowFailures -= window[windowNext] ? 1 : 0;
+                } else {
+                    windowCalls++;
+                }
+                window[windowNext] = failure;
+                windowFailures += failure ? 1 : 0;
+                windowNext = (windowNext + 1) % window.length;
+                if (windowCalls >= properties.getMinimumCalls()
+                        && windowFailures * 100 >= properties.getFailureRateThreshold() * windowCalls) {
+                    open();
+                }
+            }
+            case OPEN -> {
+                // A call that started before the breaker opened; it does not change the decision
+            }
+        }
+    }
+
+    private void open() {
+        transitionTo(State.OPEN);
+        openedAt = clock.instant();
+    }
+
+    private void close() {
+        transitionTo(State.CLOSED);
+        windowNext = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+    }
+
+    private void transitionTo(State next) {
+        if (next == State.OPEN) {
+            logger.warn("Upstream circuit breaker {} -> OPEN, rejecting calls for {}", state, properties.getOpenDuration());
+        } else {
+            logger.info("Upstream circuit breaker {} -> {}", state, next);
+        }
+        state = next;
+    }
+}
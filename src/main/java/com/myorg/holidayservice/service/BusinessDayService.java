@@ -0,0 +1,191 @@
+package com.myorg.holidayservice.service;
+
+import com.myorg.holidayservice.HolidayProperties;
+import com.myorg.holidayservice.model.BusinessCalendar;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayKey;
+import com.myorg.holidayservice.model.WorkingDayCheck;
+import com.myorg.holidayservice.model.WorkingDaysAdded;
+import com.myorg.holidayservice.model.WorkingDaysCount;
+import com.myorg.holidayservice.repository.HolidayRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Business-day math on top of the holiday datasets. A working day is a day that is neither a holiday
+ * of the country nor one of its weekend days; weekends are Saturday and Sunday unless configured
+ * otherwise per country ({@code api.holidays.business-days.*}).
+ *
+ * <p>Each (year, country) dataset is turned into a {@link BusinessCalendar} once and kept until the
+ * repository hands out a different dataset for that key, so queries only do array lookups per year spanned.
+ */
+@Service
+public class BusinessDayService {
+
+    // Upper bound on the years one query may span, so a single request cannot fan out unboundedly
+    static final int MAX_YEARS_SPANNED = 10;
+
+    // About eight years of five-day weeks, which stays within MAX_YEARS_SPANNED
+    static final int MAX_WORKING_DAYS = 2000;
+
+    // Bounds the derived calendars like the holiday cache bounds their datasets
+    private static final int MAX_CACHED_CALENDARS = 10_000;
+
+    private final HolidayRepository holidayRepository;
+    private final Executor holidayExecutor;
+    private final int defaultWeekendMask;
+    private final Map<String, Integer> weekendMasks = new HashMap<>();
+    private final ConcurrentMap<HolidayKey, BusinessCalendar> calendars = new ConcurrentHashMap<>();
+
+    public BusinessDayService(HolidayProperties properties, HolidayRepository holidayRepository, Executor holidayExecutor) {
+        this.holidayRepository = holidayRepository;
+        this.holidayExecutor = holidayExecutor;
+        this.defaultWeekendMask = BusinessCalendar.weekendMask(properties.getBusinessDays().getWeekend());
+        properties.getBusinessDays().getWeekends().forEach((countryCode, weekend) ->
+                weekendMasks.put(countryCode.trim().toUpperCase(Locale.ROOT), BusinessCalendar.weekendMask(weekend)));
+    }
+
+    /**
+     * Checks whether a date is a working day in a country.
+     *
+     * @param countryCode the country code
+     * @param date        the date to check
+     * @return a future of the answer, with the holiday's local name when the date is a holiday
+     */
+    public CompletableFuture<WorkingDayCheck> isWorkingDay(String countryCode, LocalDate date) {
+        int epochDay = (int) date.toEpochDay();
+        return businessCalendar(date.getYear(), countryCode).thenApplyAsync(calendar -> {
+            HolidayCalendar holidays = calendar.getHolidays();
+            int index = holidays.indexOnOrAfter(epochDay);
+            String holiday = index < holidays.size() && holidays.epochDay(index) == epochDay ? holidays.localName(index) : null;
+            return new WorkingDayCheck(normalize(countryCode), date, calendar.isWorkingDay(epochDay), holiday);
+        }, holidayExecutor);
+    }
+
+    /**
+     * Adds working days to a date, like a spreadsheet WORKDAY function: the result is the
+     * {@code days}-th working day after {@code date} (before it when negative), and {@code date}
+     * itself when {@code days} is 0.
+     *
+     * @param countryCode the country code
+     * @param date        the date to start from
+     * @param days        how many working days to add; may be negative
+     * @return a future of the resulting date
+     * @throws IllegalArgumentException if {@code days} is beyond {@value #MAX_WORKING_DAYS} either way
+     */
+    public CompletableFuture<WorkingDaysAdded> addWorkingDays(String countryCode, LocalDate date, int days) {
+        if (days < -MAX_WORKING_DAYS || days > MAX_WORKING_DAYS) {
+            throw new IllegalArgumentException("days must be between -" + MAX_WORKING_DAYS + " and " + MAX_WORKING_DAYS);
+        }
+        if (days == 0) {
+            return CompletableFuture.completedFuture(new WorkingDaysAdded(normalize(countryCode), date, 0, date));
+        }
+        int epochDay = (int) date.toEpochDay();
+        return businessCalendar(date.getYear(), countryCode).thenComposeAsync(calendar -> {
+            // Position of the target among this year's working days; it may lie outside this year
+            int index = days > 0
+                    ? calendar.workingDaysBefore(epochDay + 1) + days - 1
+                    : calendar.workingDaysBefore(epochDay) + days;
+            CompletableFuture<Integer> target;
+            if (index >= calendar.workingDayCount()) {
+                target = nthWorkingDay(countryCode, date.getYear() + 1, index - calendar.workingDayCount(), MAX_YEARS_SPANNED - 1);
+            } else if (index < 0) {
+                target = nthWorkingDay(countryCode, date.getYear() - 1, index, MAX_YEARS_SPANNED - 1);
+            } else {
+                target = CompletableFuture.completedFuture(calendar.workingDay(index));
+            }
+            return target.thenApply(result -> new WorkingDaysAdded(normalize(countryCode), date, days, LocalDate.ofEpochDay(result)));
+        }, holidayExecutor);
+    }
+
+    /**
+     * Finds a working day counted from the start of {@code year} when {@code index} is non-negative,
+     * or from its end when negative (-1 being the last working day), moving on to the next or
+     * previous year when {@code year} has too few working days.
+     */
+    private CompletableFuture<Integer> nthWorkingDay(String countryCode, int year, int index, int yearsLeft) {
+        return businessCalendar(year, countryCode).thenComposeAsync(calendar -> {
+            int position = index < 0 ? calendar.workingDayCount() + index : index;
+            if (position >= 0 && position < calendar.workingDayCount()) {
+                return CompletableFuture.completedFuture(calendar.workingDay(position));
+            }
+            if (yearsLeft <= 1) {
+                throw new IllegalArgumentException("Result is more than " + MAX_YEARS_SPANNED + " years away");
+            }
+            return index < 0
+                    ? nthWorkingDay(countryCode, year - 1, position, yearsLeft - 1)
+                    : nthWorkingDay(countryCode, year + 1, position - calendar.workingDayCount(), yearsLeft - 1);
+        }, holidayExecutor);
+    }
+
+    /**
+     * Counts the working days between two dates, both included.
+     *
+     * @param countryCode the country code
+     * @param from        the first day of the range
+     * @param to          the last day of the range
+     * @return a future of the count
+     * @throws IllegalArgumentException if {@code to} is before {@code from} or the range spans more than
+     *                                  {@value #MAX_YEARS_SPANNED} years
+     */
+    public CompletableFuture<WorkingDaysCount> countWorkingDays(String countryCode, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+        if (to.getYear() - from.getYear() >= MAX_YEARS_SPANNED) {
+            throw new IllegalArgumentException("The range must not span more than " + MAX_YEARS_SPANNED + " years");
+        }
+
+        List<CompletableFuture<BusinessCalendar>> years = new ArrayList<>();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            years.add(businessCalendar(year, countryCode));
+        }
+        return CompletableFuture.allOf(years.toArray(CompletableFuture[]::new)).thenApplyAsync(ignored -> {
+            int first = (int) from.toEpochDay();
+            int last = (int) to.toEpochDay();
+            int count = 0;
+            for (CompletableFuture<BusinessCalendar> year : years) {
+                BusinessCalendar calendar = year.join();
+                int start = calendar.getYear() == from.getYear() ? calendar.workingDaysBefore(first) : 0;
+                int end = calendar.getYear() == to.getYear() ? calendar.workingDaysBefore(last + 1) : calendar.workingDayCount();
+                count += end - start;
+            }
+            return new WorkingDaysCount(normalize(countryCode), from, to, count);
+        }, holidayExecutor);
+    }
+
+    /**
+     * Derives the business calendar of a (year, country) pair, reusing the previous one while the
+     * repository still returns the same dataset.
+     */
+    private CompletableFuture<BusinessCalendar> businessCalendar(int year, String countryCode) {
+        HolidayKey key = HolidayKey.of(year, normalize(countryCode));
+        return holidayRepository.fetchHolidays(year, countryCode).thenApply(holidays -> {
+            BusinessCalendar cached = calendars.get(key);
+            if (cached != null && cached.getHolidays() == holidays) {
+                return cached;
+            }
+            BusinessCalendar calendar = BusinessCalendar.of(year, holidays,
+                    weekendMasks.getOrDefault(key.getCountryCode(), defaultWeekendMask));
+            if (calendars.size() >= MAX_CACHED_CALENDARS) {
+                calendars.clear();
+            }
+            calendars.put(key, calendar);
+            return calendar;
+        });
+    }
+
+    private static String normalize(String countryCode) {
+        return countryCode.trim().toUpperCase(Locale.ROOT);
+    }
+}
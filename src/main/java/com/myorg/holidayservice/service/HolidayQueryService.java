@@ -0,0 +1,139 @@
+package com.myorg.holidayservice.service;
+
+import com.myorg.holidayservice.model.HolidayDirection;
+import com.myorg.holidayservice.model.HolidayQuery;
+import com.myorg.holidayservice.model.HolidayQueryResult;
+import com.myorg.holidayservice.model.HolidayResults;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the queries of a bulk request. All queries start at once and go through {@link HolidayService},
+ * so a (year, country) dataset needed by several of them is fetched once: concurrent loads of a key
+ * share one upstream call and later ones are served from the cache. Each query succeeds or fails on
+ * its own, and the results come back in request order, or in completion order when streamed.
+ */
+@Service
+public class HolidayQueryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HolidayQueryService.class);
+
+    static final int MAX_QUERIES = 100;
+
+    // Same bound as the n parameter of GET /api/holidays/{countryCode}
+    static final int MAX_HOLIDAYS = 100;
+
+    private final HolidayService holidayService;
+
+    public HolidayQueryService(HolidayService holidayService) {
+        this.holidayService = holidayService;
+    }
+
+    /**
+     * Runs every query concurrently.
+     *
+     * @param queries the queries, at most {@value #MAX_QUERIES}
+     * @return a future of one result per query, in the same order, marked stale if any result is
+     * @throws IllegalArgumentException if there are no queries or too many
+     */
+    public CompletableFuture<List<HolidayQueryResult>> run(List<HolidayQuery> queries) {
+        if (queries == null || queries.isEmpty() || queries.size() > MAX_QUERIES) {
+            throw new IllegalArgumentException("A batch must contain between 1 and " + MAX_QUERIES + " queries");
+        }
+
+        List<CompletableFuture<HolidayQueryResult>> results = new ArrayList<>(queries.size());
+        for (HolidayQuery query : queries) {
+            results.add(resultOf(query));
+        }
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    HolidayResults<HolidayQueryResult> completed = new HolidayResults<>(results.size());
+                    for (CompletableFuture<HolidayQueryResult> result : results) {
+                        completed.add(result.join());
+                        completed.markStale(HolidayResults.isStale(result.join().getResult()));
+                    }
+                    return completed;
+                });
+    }
+
+    /**
+     * Streaming variant of {@link #run(List)}: each result is emitted as soon as its query completes,
+     * so results arrive in completion order and callers match them to queries by {@code id}.
+     *
+     * @param queries the queries, at most {@value #MAX_QUERIES}
+     * @return one result per query, in completion order
+     * @throws IllegalArgumentException if there are no queries or too many
+     */
+    public Flux<HolidayQueryResult> stream(List<HolidayQuery> queries) {
+        if (queries == null || queries.isEmpty() || queries.size() > MAX_QUERIES) {
+            throw new IllegalArgumentException("A batch must contain between 1 and " + MAX_QUERIES + " queries");
+        }
+        return Flux.merge(queries.stream().map(query -> Mono.fromFuture(() -> resultOf(query))).toList());
+    }
+
+    private CompletableFuture<HolidayQueryResult> resultOf(HolidayQuery query) {
+        return start(query)
+                .<HolidayQueryResult>thenApply(result -> HolidayQueryResult.success(query, result))
+                .exceptionally(error -> failed(query, error));
+    }
+
+    private CompletableFuture<?> start(HolidayQuery query) {
+        try {
+            if (query.getType() == null) {
+                throw new IllegalArgumentException("type is required");
+            }
+            return switch (query.getType()) {
+                case HOLIDAYS -> holidayService.getHolidays(required(query.getCountryCode(), "countryCode"),
+                        query.getN() == null ? 3 : holidayCount(query.getN()),
+                        query.getDirection() == null ? HolidayDirection.PAST : HolidayDirection.of(query.getDirection()));
+                case COUNT -> holidayService.getNonWeekendHolidaysCount(required(query.getYear(), "year"),
+                        requiredCountryCodes(query));
+                case COMMON -> query.getMinCountries() == null
+                        ? holidayService.getCommonHolidays(required(query.getYear(), "year"), requiredCountryCodes(query))
+                        : holidayService.getCommonHolidays(required(query.getYear(), "year"), requiredCountryCodes(query),
+                        query.getMinCountries());
+            };
+        } catch (RuntimeException e) {
+            // Invalid queries fail on their own instead of failing the batch
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static <T> T required(T value, String field) {
+        if (value == null || (value instanceof String text && text.isBlank())) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return value;
+    }
+
+    private static int holidayCount(int n) {
+        if (n < 1 || n > MAX_HOLIDAYS) {
+            throw new IllegalArgumentException("n must be between 1 and " + MAX_HOLIDAYS);
+        }
+        return n;
+    }
+
+    private static List<String> requiredCountryCodes(HolidayQuery query) {
+        List<String> countryCodes = query.getCountryCodes();
+        if (countryCodes == null || countryCodes.isEmpty()) {
+            throw new IllegalArgumentException("countryCodes is required");
+        }
+        return countryCodes;
+    }
+
+    private static HolidayQueryResult failed(HolidayQuery query, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        logger.warn("Batch query {} failed: {}", query, cause.toString());
+        String reason = cause instanceof TimeoutException ? "Timed out fetching holidays" : cause.getMessage();
+        return HolidayQueryResult.failed(query, reason);
+    }
+}
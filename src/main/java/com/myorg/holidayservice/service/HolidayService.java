@@ -1,21 +1,34 @@
 package com.myorg.holidayservice.service;
 
+import com.myorg.holidayservice.HolidayProperties;
 import com.myorg.holidayservice.exception.HolidayException;
 import com.myorg.holidayservice.exception.NoHolidaysFoundException;
+import com.myorg.holidayservice.model.CommonHoliday;
 import com.myorg.holidayservice.model.CountryHolidayCount;
 import com.myorg.holidayservice.model.Holiday;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayDirection;
+import com.myorg.holidayservice.model.HolidayKey;
+import com.myorg.holidayservice.model.HolidayResults;
+import com.myorg.holidayservice.repository.HolidayBatch;
 import com.myorg.holidayservice.repository.HolidayRepository;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.time.DayOfWeek;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.Year;
+import java.time.ZoneId;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @AllArgsConstructor
@@ -23,112 +36,358 @@ public class HolidayService {
 
     private static final Logger logger = LoggerFactory.getLogger(HolidayService.class);
 
+    // Upper bound on the years one lookup may walk through, whatever the requested count
+    private static final int MAX_YEARS_SPANNED = 10;
+
+    // Bounds the memoized nearest-holidays results; the least recently used one is evicted first
+    private static final int MAX_NEAREST_RESULTS = 10_000;
+
     @Autowired
     private HolidayRepository holidayRepository;
 
+    @Autowired
+    private Clock clock;
+
+    // Runs the work that follows each upstream response (virtual threads when enabled)
+    @Autowired
+    private Executor holidayExecutor;
+
+    @Autowired
+    private HolidayProperties properties;
+
+    // Today's nearest holidays per (country, direction, count), reused until their midnight; access-ordered
+    // for LRU eviction like HolidayCache, so guarded by synchronizing on it
+    private final Map<String, HolidayResults<Holiday>> nearestHolidays = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, HolidayResults<Holiday>> eldest) {
+            return size() > MAX_NEAREST_RESULTS;
+        }
+    };
+
     /**
      * Retrieves the last three holidays for a given country code.
      * If there are fewer than three holidays in the current year,
-     * it fetches holidays from the previous year to fill the gap.
+     * it fetches holidays from earlier years to fill the gap, exactly as
+     * {@code getHolidays(countryCode, 3, PAST)} does, so both share their results.
+     * It may therefore fetch up to four years from upstream, the current one and three before it:
+     * the years before the previous one are only fetched while the current and previous year have
+     * fewer than three past holidays between them, and the walk stops at the first earlier year
+     * without holidays.
      *
      * @param countryCode the country code for which to fetch holidays
-     * @return a list of the last three holidays
-     * @throws NoHolidaysFoundException if no holidays are found for the given country
+     * @return a future of the list of the last three holidays, most recent first
      */
-    public List<Holiday> getLastThreeHolidays(String countryCode) {
-        int currentYear = Year.now().getValue();
-        LocalDate today = LocalDate.now();
-
-        // Fetch holidays from the current year and filter out future ones
-        List<Holiday> holidays = holidayRepository.fetchHolidays(currentYear, countryCode).stream()
-                .filter(holiday -> !holiday.getDate().isAfter(today))
-                .sorted(Comparator.comparing(Holiday::getDate).reversed())
-                .collect(Collectors.toList());
-
-        // If fewer than 3 holidays are found, fetch from the previous year to fill the gap
-        if (holidays.size() < 3) {
-            List<Holiday> previousYearHolidays = holidayRepository.fetchHolidays(currentYear - 1, countryCode).stream()
-                    .filter(holiday -> !holiday.getDate().isAfter(today))
-                    .sorted(Comparator.comparing(Holiday::getDate).reversed())
-                    .toList();
-
-            holidays.addAll(previousYearHolidays);
-
-            // Limit the holidays list to 3 items only
-            holidays = holidays.stream()
-                    .limit(3)
-                    .collect(Collectors.toList());
+    public CompletableFuture<List<Holiday>> getLastThreeHolidays(String countryCode) {
+        return getHolidays(countryCode, 3, HolidayDirection.PAST);
+    }
+
+    /**
+     * Retrieves the {@code n} holidays closest to today on one side of it: past holidays (today included)
+     * most recent first, or future holidays soonest first. The current year is fetched first and further
+     * years only while more holidays are needed, up to {@code n + 1} years and at most {@value #MAX_YEARS_SPANNED};
+     * the walk also stops at a year without any holidays, i.e. outside the data the upstream API has.
+     *
+     * @param countryCode the country code for which to fetch holidays
+     * @param n           how many holidays to return
+     * @param direction   which side of today to look at
+     * @return a future of at most {@code n} holidays, nearest to today first
+     * @throws IllegalArgumentException if {@code n} is less than 1
+     */
+    public CompletableFuture<List<Holiday>> getHolidays(String countryCode, int n, HolidayDirection direction) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be at least 1");
         }
+        return collectHolidays(countryCode, n, direction, yearsSpanned(n));
+    }
 
-        return holidays;
+    /**
+     * The years a lookup of {@code n} holidays may walk through: any year with data has at least one holiday.
+     */
+    private static int yearsSpanned(int n) {
+        return Math.min(n + 1, MAX_YEARS_SPANNED);
+    }
+
+    /**
+     * Collects the holidays nearest to today in the country's zone. The results are memoized until midnight
+     * in that zone, and reused as long as every dataset they were computed from is cached unchanged; a reuse
+     * still counts as a request for each of those datasets, so the cache warmer keeps them fresh. Memoized
+     * results are {@link HolidayResults#freeze() frozen}, as every caller gets the same instance.
+     */
+    private CompletableFuture<List<Holiday>> collectHolidays(String countryCode, int limit, HolidayDirection direction,
+                                                             int maxYears) {
+        String code = normalize(countryCode);
+        String key = code + '/' + direction + '/' + limit;
+        Instant now = clock.instant();
+        HolidayResults<Holiday> memoized;
+        synchronized (nearestHolidays) {
+            memoized = nearestHolidays.get(key);
+        }
+        if (memoized != null && now.isBefore(memoized.getValidUntil()) && memoized.getSources().entrySet().stream()
+                .allMatch(source -> holidayRepository.isCurrent(source.getKey(), source.getValue()))) {
+            memoized.getSources().keySet().forEach(holidayRepository::recordRequest);
+            return CompletableFuture.completedFuture(memoized);
+        }
+
+        ZoneId zone = zoneOf(code);
+        LocalDate date = LocalDate.ofInstant(now, zone);
+        int currentYear = date.getYear();
+        int today = (int) date.toEpochDay();
+        HolidayResults<Holiday> holidays = new HolidayResults<Holiday>(Math.min(limit, 64))
+                .derivedFrom(today)
+                .validUntil(date.plusDays(1).atStartOfDay(zone).toInstant());
+        return collectHolidays(countryCode, currentYear, currentYear, currentYear + direction.getYearStep() * maxYears,
+                direction, today, holidays, limit).thenApply(results -> {
+            if (!holidays.isStale()) {
+                holidays.freeze();
+                synchronized (nearestHolidays) {
+                    nearestHolidays.put(key, holidays);
+                }
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Resolves the zone whose date is "today" for a country, see {@link HolidayProperties.Today}.
+     */
+    private ZoneId zoneOf(String countryCode) {
+        HolidayProperties.Today today = properties.getToday();
+        ZoneId zone = today.getZones().get(countryCode);
+        if (zone != null) {
+            return zone;
+        }
+        return today.getZone() != null ? today.getZone() : clock.getZone();
+    }
+
+    /**
+     * Appends holidays of {@code year} and, while fewer than {@code limit} are collected, of the following years
+     * in {@code direction}. Each year is already date ordered, so this only walks from the cutoff at today.
+     */
+    private CompletableFuture<List<Holiday>> collectHolidays(String countryCode, int currentYear, int year, int endYear,
+                                                             HolidayDirection direction, int today,
+                                                             HolidayResults<Holiday> holidays, int limit) {
+        return holidayRepository.fetchHolidays(year, countryCode).thenComposeAsync(calendar -> {
+            holidays.derivedFrom(HolidayKey.of(year, normalize(countryCode)), calendar);
+            appendNearestFirst(calendar, today, direction, holidays, limit);
+            int nextYear = year + direction.getYearStep();
+            boolean outOfData = calendar.isEmpty() && year != currentYear;
+            if (holidays.size() >= limit || nextYear == endYear || outOfData) {
+                return CompletableFuture.completedFuture(holidays);
+            }
+            return collectHolidays(countryCode, currentYear, nextYear, endYear, direction, today, holidays, limit);
+        }, holidayExecutor);
     }
 
     /**
      * Counts the number of non-weekend holidays for a list of country codes in a given year.
+     * All countries are fetched as one batch: cached countries are counted directly and misses are
+     * fetched concurrently, bounded per request and within the request deadline. A country whose
+     * fetch fails or misses the deadline is reported with an error and sorted last; the request
+     * only fails when no country could be counted.
      *
      * @param year        the year for which to count holidays
      * @param countryCodes the list of country codes to count holidays for
-     * @return a list of CountryHolidayCount objects containing country codes and their respective holiday counts
+     * @return a future of the list of CountryHolidayCount objects containing country codes and their respective holiday counts
      */
-    public List<CountryHolidayCount> getNonWeekendHolidaysCount(int year, List<String> countryCodes) {
-        try {
-            // Using parallelStream for better performance on large countryCodes list
-            return countryCodes.parallelStream()
-                    .map(code -> new CountryHolidayCount(code, countNonWeekendHolidays(year, code)))
-                    .sorted(Comparator.comparingInt(CountryHolidayCount::getCount).reversed())
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            logger.error("Error fetching public holidays count for year: {} and countries: {}", year, countryCodes, e);
-            throw new HolidayException("Failed to fetch public holidays count", e);
-        }
+    public CompletableFuture<List<CountryHolidayCount>> getNonWeekendHolidaysCount(int year, List<String> countryCodes) {
+        return holidayRepository.fetchHolidaysBatch(year, countryCodes).thenApplyAsync(batch -> {
+            HolidayResults<CountryHolidayCount> results = new HolidayResults<>(batch.getHolidays().size() + batch.getFailures().size());
+            batch.getHolidays().forEach((code, holidays) -> {
+                results.add(new CountryHolidayCount(code, holidays.weekdayCount()));
+                results.derivedFrom(HolidayKey.of(year, code), holidays);
+            });
+            batch.getFailures().forEach((code, error) -> results.add(failedCount(year, code, error)));
+            if (!results.isEmpty() && batch.getHolidays().isEmpty()) {
+                logger.error("Error fetching public holidays count for year: {} and countries: {}", year, countryCodes);
+                throw new HolidayException("Failed to fetch public holidays count", batch.getFailures().values().iterator().next());
+            }
+            // Failed countries were added last and the sort is stable
+            results.sort(Comparator.comparing((CountryHolidayCount count) -> count.getError() != null)
+                    .thenComparing(Comparator.comparingInt(CountryHolidayCount::getCount).reversed()));
+            return results;
+        }, holidayExecutor);
+    }
+
+    /**
+     * Streaming variant of {@link #getNonWeekendHolidaysCount(int, List)}: each country's count is emitted
+     * as soon as its holidays are available, cached countries first, so the first results do not wait for
+     * the slowest fetch. A country whose fetch fails or misses the deadline is emitted with an error;
+     * the stream itself does not fail.
+     *
+     * @param year         the year for which to count holidays
+     * @param countryCodes the list of country codes to count holidays for
+     * @return the counts, in completion order
+     */
+    public Flux<CountryHolidayCount> streamNonWeekendHolidaysCount(int year, List<String> countryCodes) {
+        return Flux.defer(() -> Flux.merge(holidayRepository.fetchHolidaysEach(year, countryCodes).entrySet().stream()
+                .map(fetch -> Mono.fromFuture(fetch.getValue())
+                        .map(holidays -> new CountryHolidayCount(fetch.getKey(), holidays.weekdayCount()))
+                        .onErrorResume(error -> Mono.just(failedCount(year, fetch.getKey(), unwrap(error)))))
+                .toList()));
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private CountryHolidayCount failedCount(int year, String countryCode, Throwable error) {
+        logger.warn("Could not count holidays for {} in {}: {}", countryCode, year, error.toString());
+        String reason = error instanceof TimeoutException ? "Timed out fetching holidays" : error.getMessage();
+        return CountryHolidayCount.failed(countryCode, reason);
     }
 
 
     /**
      * Retrieves common holidays between two countries for a specified year.
+     * Both countries are fetched concurrently.
      *
      * @param year        the year for which to find common holidays
      * @param countryCode1 the first country code
      * @param countryCode2 the second country code
-     * @return a list of common holidays between the two countries
+     * @return a future of the list of common holidays between the two countries
      */
-    public List<Holiday> getCommonHolidays(int year, String countryCode1, String countryCode2) {
-        Set<Holiday> holidays1 = new HashSet<>(holidayRepository.fetchHolidays(year, countryCode1));
-        Set<Holiday> holidays2 = new HashSet<>(holidayRepository.fetchHolidays(year, countryCode2));
+    public CompletableFuture<List<Holiday>> getCommonHolidays(int year, String countryCode1, String countryCode2) {
+        return holidayRepository.fetchHolidays(year, countryCode1)
+                .thenCombineAsync(holidayRepository.fetchHolidays(year, countryCode2),
+                        (first, second) -> commonHolidays(first, second)
+                                .derivedFrom(HolidayKey.of(year, normalize(countryCode1)), first)
+                                .derivedFrom(HolidayKey.of(year, normalize(countryCode2)), second),
+                        holidayExecutor);
+    }
 
-        // Return the list of common holidays (empty if no common holidays are found)
-        return holidays1.stream()
-                .filter(holidays2::contains)
-                .sorted(Comparator.comparing(Holiday::getDate))
-                .collect(Collectors.toList());
+    /**
+     * Retrieves the dates that are holidays in every one of the given countries.
+     *
+     * @param year         the year for which to find common holidays
+     * @param countryCodes the country codes to compare
+     * @return a future of the common holidays, in date order
+     */
+    public CompletableFuture<List<CommonHoliday>> getCommonHolidays(int year, List<String> countryCodes) {
+        return getCommonHolidays(year, countryCodes, (int) countryCodes.stream().map(HolidayService::normalize).distinct().count());
     }
 
     /**
-     * Counts the number of holidays that are not on weekends for a given year and country code.
+     * Retrieves the dates that are holidays in at least {@code minCountries} of the given countries.
+     * Countries are fetched as one batch and every one of them must succeed; each calendar is reduced to a day-of-year
+     * bitset, so the comparison itself is a word-wise AND (all countries) or a per-day bit count.
      *
-     * @param year       the year for which to count holidays
-     * @param countryCode the country code to count holidays for
-     * @return the count of non-weekend holidays
+     * @param year         the year for which to find common holidays
+     * @param countryCodes the country codes to compare; duplicates are ignored
+     * @param minCountries how many of the countries must observe a date
+     * @return a future of the common holidays, in date order
+     * @throws IllegalArgumentException if {@code minCountries} is not between 1 and the number of countries
      */
-    int countNonWeekendHolidays(int year, String countryCode) {
-        List<Holiday> holidays = holidayRepository.fetchHolidays(year, countryCode);
+    public CompletableFuture<List<CommonHoliday>> getCommonHolidays(int year, List<String> countryCodes, int minCountries) {
+        List<String> codes = countryCodes.stream().map(HolidayService::normalize).distinct().toList();
+        if (minCountries < 1 || minCountries > codes.size()) {
+            throw new IllegalArgumentException("minCountries must be between 1 and " + codes.size());
+        }
+
+        return holidayRepository.fetchHolidaysBatch(year, codes).thenApplyAsync(batch -> {
+            if (!batch.getFailures().isEmpty()) {
+                logger.error("Error fetching common holidays for year: {} and countries: {}", year, batch.getFailures().keySet());
+                throw new HolidayException("Failed to fetch common holidays", batch.getFailures().values().iterator().next());
+            }
+            List<HolidayCalendar> calendars = codes.stream().map(batch.getHolidays()::get).toList();
+            return sharedHolidays(year, codes, calendars, minCountries);
+        }, holidayExecutor);
+    }
 
-        // If no holidays are found, return zero
-        if (holidays.isEmpty()) {
-            return 0;
+    private static List<CommonHoliday> sharedHolidays(int year, List<String> codes, List<HolidayCalendar> calendars,
+                                                      int minCountries) {
+        long[][] bits = new long[calendars.size()][];
+        long[] candidates = new long[HolidayCalendar.YEAR_WORDS];
+        boolean requireAll = minCountries == calendars.size();
+        for (int c = 0; c < calendars.size(); c++) {
+            bits[c] = calendars.get(c).dayOfYearBits(year);
+            for (int w = 0; w < candidates.length; w++) {
+                candidates[w] = c == 0 ? bits[c][w] : requireAll ? candidates[w] & bits[c][w] : candidates[w] | bits[c][w];
+            }
         }
-        return (int) holidays.stream()
-                .filter(holiday -> !isWeekend(holiday.getDate()))
-                .count();
+
+        int firstDay = (int) LocalDate.of(year, 1, 1).toEpochDay();
+        HolidayResults<CommonHoliday> common = new HolidayResults<>();
+        for (int c = 0; c < calendars.size(); c++) {
+            common.derivedFrom(HolidayKey.of(year, codes.get(c)), calendars.get(c));
+        }
+        for (int w = 0; w < candidates.length; w++) {
+            for (long word = candidates[w]; word != 0; word &= word - 1) {
+                int dayIndex = (w << 6) + Long.numberOfTrailingZeros(word);
+                long mask = 1L << dayIndex;
+                List<String> observedBy = new ArrayList<>();
+                for (int c = 0; c < calendars.size(); c++) {
+                    if ((bits[c][w] & mask) != 0) {
+                        observedBy.add(codes.get(c));
+                    }
+                }
+                if (observedBy.size() >= minCountries) {
+                    HolidayCalendar first = calendars.get(codes.indexOf(observedBy.get(0)));
+                    int epochDay = firstDay + dayIndex;
+                    common.add(new CommonHoliday(LocalDate.ofEpochDay(epochDay),
+                            first.localName(first.indexOnOrAfter(epochDay)), observedBy));
+                }
+            }
+        }
+        return common;
     }
 
     /**
-     * Checks if a given date falls on a weekend (Saturday or Sunday).
+     * Merges two date-ordered calendars, keeping the first holiday of {@code first} on each shared date.
+     */
+    private static HolidayResults<Holiday> commonHolidays(HolidayCalendar first, HolidayCalendar second) {
+        HolidayResults<Holiday> common = new HolidayResults<>();
+        int i = 0;
+        int j = 0;
+        while (i < first.size() && j < second.size()) {
+            int day = first.epochDay(i);
+            if (day < second.epochDay(j)) {
+                i++;
+            } else if (day > second.epochDay(j)) {
+                j++;
+            } else {
+                common.add(first.holiday(i));
+                // Skip further holidays on the same date in either calendar
+                while (i < first.size() && first.epochDay(i) == day) {
+                    i++;
+                }
+                while (j < second.size() && second.epochDay(j) == day) {
+                    j++;
+                }
+            }
+        }
+        return common;
+    }
+
+    /**
+     * Counts the number of holidays that are not on weekends for a given year and country code.
      *
-     * @param date the date to check
-     * @return true if the date is a weekend, false otherwise
+     * @param year       the year for which to count holidays
+     * @param countryCode the country code to count holidays for
+     * @return a future of the count of non-weekend holidays
      */
-    private boolean isWeekend(LocalDate date) {
-        return date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+    CompletableFuture<Integer> countNonWeekendHolidays(int year, String countryCode) {
+        return holidayRepository.fetchHolidays(year, countryCode).thenApplyAsync(HolidayCalendar::weekdayCount, holidayExecutor);
+    }
+
+    /**
+     * Appends the holidays of {@code calendar} on {@code direction}'s side of today, nearest first,
+     * until {@code holidays} holds {@code limit}.
+     */
+    private static void appendNearestFirst(HolidayCalendar calendar, int today, HolidayDirection direction,
+                                           List<Holiday> holidays, int limit) {
+        int pastCount = calendar.countOnOrBefore(today);
+        if (direction == HolidayDirection.PAST) {
+            for (int i = pastCount - 1; i >= 0 && holidays.size() < limit; i--) {
+                holidays.add(calendar.holiday(i));
+            }
+        } else {
+            for (int i = pastCount; i < calendar.size() && holidays.size() < limit; i++) {
+                holidays.add(calendar.holiday(i));
+            }
+        }
+    }
+
+    private static String normalize(String countryCode) {
+        return countryCode.trim().toUpperCase(Locale.ROOT);
     }
 }
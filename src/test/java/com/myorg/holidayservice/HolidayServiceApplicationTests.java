@@ -1,13 +1,33 @@
 package com.myorg.holidayservice;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 @SpringBootTest
 class HolidayServiceApplicationTests {
 
+	@Autowired
+	private RequestMappingHandlerAdapter handlerAdapter;
+
+	@Autowired
+	@Qualifier("holidayExecutor")
+	private Executor holidayExecutor;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void mvcAsyncSupport_ShouldUseTheHolidayExecutor() {
+		assertSame(holidayExecutor, ReflectionTestUtils.getField(handlerAdapter, "taskExecutor"));
+	}
+
 }
@@ -1,25 +1,43 @@
 package com.myorg.holidayservice.controller;
 
+import com.myorg.holidayservice.HolidayProperties;
+import com.myorg.holidayservice.model.CommonHoliday;
 import com.myorg.holidayservice.model.CountryHolidayCount;
 import com.myorg.holidayservice.model.Holiday;
+import com.myorg.holidayservice.model.HolidayDirection;
+import com.myorg.holidayservice.model.HolidayQuery;
+import com.myorg.holidayservice.model.HolidayQueryResult;
+import com.myorg.holidayservice.model.HolidayResults;
+import com.myorg.holidayservice.service.HolidayQueryService;
 import com.myorg.holidayservice.service.HolidayService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +46,13 @@ public class HolidayControllerTest {
     @Mock
     private HolidayService holidayService;
 
+    @Mock
+    private HolidayQueryService holidayQueryService;
+
+    @Spy
+    private HolidayHttpCaching httpCaching = new HolidayHttpCaching(new HolidayProperties(),
+            Clock.fixed(Instant.parse("2025-06-01T23:30:00Z"), ZoneOffset.UTC));
+
     @InjectMocks
     private HolidayController holidayController;
 
@@ -35,7 +60,9 @@ public class HolidayControllerTest {
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(holidayController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(holidayController)
+                .setControllerAdvice(new StaleDataResponseAdvice())
+                .build();
     }
 
     @Test
@@ -47,10 +74,10 @@ public class HolidayControllerTest {
                 new Holiday(LocalDate.of(2025, 12, 25), "Christmas Day")
         );
 
-        when(holidayService.getLastThreeHolidays(countryCode)).thenReturn(mockHolidays);
+        when(holidayService.getLastThreeHolidays(countryCode)).thenReturn(CompletableFuture.completedFuture(mockHolidays));
 
         // Act & Assert
-        mockMvc.perform(get("/api/holidays/{countryCode}", countryCode)
+        performAsync(get("/api/holidays/{countryCode}", countryCode)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].localName").value("New Year's Day"))
@@ -59,14 +86,106 @@ public class HolidayControllerTest {
         verify(holidayService, times(1)).getLastThreeHolidays(countryCode);
     }
 
+    @Test
+    void getLastThreeHolidays_ShouldReturnNextNHolidaysWhenRequested() throws Exception {
+        // Arrange
+        String countryCode = "NL";
+        List<Holiday> mockHolidays = List.of(new Holiday(LocalDate.of(2025, 4, 26), "Koningsdag"));
+
+        when(holidayService.getHolidays(countryCode, 1, HolidayDirection.FUTURE)).thenReturn(CompletableFuture.completedFuture(mockHolidays));
+
+        // Act & Assert
+        performAsync(get("/api/holidays/{countryCode}", countryCode)
+                        .param("n", "1")
+                        .param("direction", "future")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].localName").value("Koningsdag"));
+
+        verify(holidayService, never()).getLastThreeHolidays(anyString());
+    }
+
+    @Test
+    void getLastThreeHolidays_ShouldFlagResponsesComputedFromStaleData() throws Exception {
+        // Arrange
+        HolidayResults<Holiday> staleHolidays = new HolidayResults<Holiday>().markStale(true);
+        staleHolidays.add(new Holiday(LocalDate.of(2025, 1, 1), "New Year's Day"));
+        when(holidayService.getLastThreeHolidays("US")).thenReturn(CompletableFuture.completedFuture(staleHolidays));
+
+        // Act & Assert
+        performAsync(get("/api/holidays/{countryCode}", "US"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(StaleDataResponseAdvice.STALE_HEADER, "true"))
+                .andExpect(jsonPath("$[0].localName").value("New Year's Day"));
+    }
+
+    @Test
+    void getCommonHolidays_ShouldSetETagAndMaxAgeOfThePastYear() throws Exception {
+        // Arrange
+        HolidayResults<Holiday> common = new HolidayResults<Holiday>().derivedFrom(42);
+        common.add(new Holiday(LocalDate.of(2024, 1, 1), "New Year's Day"));
+        when(holidayService.getCommonHolidays(2024, "US", "GB")).thenReturn(CompletableFuture.completedFuture(common));
+
+        // Act & Assert
+        performAsync(get("/api/holidays/{year}/common-holidays", 2024)
+                        .param("countryCode1", "US")
+                        .param("countryCode2", "GB"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"" + Long.toHexString(common.getVersion()) + "\""))
+                .andExpect(header().string("Cache-Control", "max-age=86400, public"));
+    }
+
+    @Test
+    void getCommonHolidays_ShouldReturnNotModifiedWhenETagMatches() throws Exception {
+        // Arrange
+        HolidayResults<Holiday> common = new HolidayResults<Holiday>().derivedFrom(42);
+        common.add(new Holiday(LocalDate.of(2025, 1, 1), "New Year's Day"));
+        when(holidayService.getCommonHolidays(2025, "US", "GB")).thenReturn(CompletableFuture.completedFuture(common));
+
+        // Act & Assert
+        performAsync(get("/api/holidays/{year}/common-holidays", 2025)
+                        .param("countryCode1", "US")
+                        .param("countryCode2", "GB")
+                        .header("If-None-Match", "\"" + Long.toHexString(common.getVersion()) + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getLastThreeHolidays_ShouldOnlyBeCachedUntilMidnight() throws Exception {
+        // Arrange: the clock is at 23:30
+        HolidayResults<Holiday> holidays = new HolidayResults<Holiday>().derivedFrom(7);
+        holidays.add(new Holiday(LocalDate.of(2025, 5, 5), "Bevrijdingsdag"));
+        when(holidayService.getLastThreeHolidays("NL")).thenReturn(CompletableFuture.completedFuture(holidays));
+
+        // Act & Assert: capped from one hour to the half hour left in the day
+        performAsync(get("/api/holidays/{countryCode}", "NL"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=1800, public"));
+    }
+
+    @Test
+    void getLastThreeHolidays_ShouldOnlyBeCachedUntilMidnightInTheCountrysZone() throws Exception {
+        // Arrange: 23:30 UTC is already 01:30 in Amsterdam, whose day ends at 22:00 UTC
+        HolidayResults<Holiday> holidays = new HolidayResults<Holiday>().derivedFrom(7)
+                .validUntil(Instant.parse("2025-06-02T22:00:00Z"));
+        holidays.add(new Holiday(LocalDate.of(2025, 5, 5), "Bevrijdingsdag"));
+        when(holidayService.getLastThreeHolidays("NL")).thenReturn(CompletableFuture.completedFuture(holidays));
+
+        // Act & Assert: the full hour fits in what is left of the Dutch day
+        performAsync(get("/api/holidays/{countryCode}", "NL"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=3600, public"));
+    }
+
     @Test
     void getLastThreeHolidays_ShouldReturnNotFoundWhenNoHolidaysFound() throws Exception {
         // Arrange
         String countryCode = "US";
-        when(holidayService.getLastThreeHolidays(countryCode)).thenReturn(Collections.emptyList());
+        when(holidayService.getLastThreeHolidays(countryCode)).thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
 
         // Act & Assert
-        mockMvc.perform(get("/api/holidays/{countryCode}", countryCode)
+        performAsync(get("/api/holidays/{countryCode}", countryCode)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
 
@@ -83,10 +202,10 @@ public class HolidayControllerTest {
                 new CountryHolidayCount("IN", 8)
         );
 
-        when(holidayService.getNonWeekendHolidaysCount(year, countryCodes)).thenReturn(mockCounts);
+        when(holidayService.getNonWeekendHolidaysCount(year, countryCodes)).thenReturn(CompletableFuture.completedFuture(mockCounts));
 
         // Act & Assert
-        mockMvc.perform(get("/api/holidays/{year}/public-holidays", year)
+        performAsync(get("/api/holidays/{year}/public-holidays", year)
                         .param("countryCodes", "US", "IN")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -108,10 +227,10 @@ public class HolidayControllerTest {
                 new Holiday(LocalDate.of(2025, 1, 1), "New Year's Day")
         );
 
-        when(holidayService.getCommonHolidays(year, countryCode1, countryCode2)).thenReturn(mockCommonHolidays);
+        when(holidayService.getCommonHolidays(year, countryCode1, countryCode2)).thenReturn(CompletableFuture.completedFuture(mockCommonHolidays));
 
         // Act & Assert
-        mockMvc.perform(get("/api/holidays/{year}/common-holidays", year)
+        performAsync(get("/api/holidays/{year}/common-holidays", year)
                         .param("countryCode1", countryCode1)
                         .param("countryCode2", countryCode2)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -127,10 +246,10 @@ public class HolidayControllerTest {
         int year = 2025;
         String countryCode1 = "US";
         String countryCode2 = "IN";
-        when(holidayService.getCommonHolidays(year, countryCode1, countryCode2)).thenReturn(Collections.emptyList());
+        when(holidayService.getCommonHolidays(year, countryCode1, countryCode2)).thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
 
         // Act & Assert
-        mockMvc.perform(get("/api/holidays/{year}/common-holidays", year)
+        performAsync(get("/api/holidays/{year}/common-holidays", year)
                         .param("countryCode1", countryCode1)
                         .param("countryCode2", countryCode2)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -138,4 +257,76 @@ public class HolidayControllerTest {
 
         verify(holidayService, times(1)).getCommonHolidays(year, countryCode1, countryCode2);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getHolidaysCommonToCountries_ShouldReturnHolidaysSharedByMinCountries() throws Exception {
+        // Arrange
+        int year = 2025;
+        List<String> countryCodes = List.of("NL", "DE", "BE");
+        List<CommonHoliday> mockCommonHolidays = List.of(
+                new CommonHoliday(LocalDate.of(2025, 1, 1), "Nieuwjaarsdag", countryCodes)
+        );
+
+        when(holidayService.getCommonHolidays(year, countryCodes, 2)).thenReturn(CompletableFuture.completedFuture(mockCommonHolidays));
+
+        // Act & Assert
+        performAsync(get("/api/holidays/{year}/common-holidays", year)
+                        .param("countryCodes", "NL,DE,BE")
+                        .param("minCountries", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].localName").value("Nieuwjaarsdag"))
+                .andExpect(jsonPath("$[0].countryCodes[2]").value("BE"));
+
+        verify(holidayService, times(1)).getCommonHolidays(year, countryCodes, 2);
+    }
+
+    @Test
+    void streamPublicHolidaysCount_ShouldWriteOneJsonLinePerCountry() throws Exception {
+        // Arrange
+        int year = 2025;
+        List<String> countryCodes = Arrays.asList("US", "IN");
+        when(holidayService.streamNonWeekendHolidaysCount(year, countryCodes))
+                .thenReturn(Flux.just(new CountryHolidayCount("IN", 8), new CountryHolidayCount("US", 10)));
+
+        // Act & Assert
+        performAsync(get("/api/holidays/{year}/public-holidays", year)
+                        .param("countryCodes", "US", "IN")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"countryCode\":\"IN\",\"count\":8}\n{\"countryCode\":\"US\",\"count\":10}\n"));
+
+        verify(holidayService, never()).getNonWeekendHolidaysCount(anyInt(), anyList());
+    }
+
+    @Test
+    void runQueries_ShouldReturnOneResultPerQuery() throws Exception {
+        // Arrange
+        HolidayQuery query = new HolidayQuery("nl", HolidayQuery.Type.HOLIDAYS, "NL", 1, "future", null, null, null);
+        List<HolidayQueryResult> mockResults = List.of(HolidayQueryResult.success(query,
+                List.of(new Holiday(LocalDate.of(2025, 4, 26), "Koningsdag"))));
+
+        when(holidayQueryService.run(List.of(query))).thenReturn(CompletableFuture.completedFuture(mockResults));
+
+        // Act & Assert
+        performAsync(post("/api/holidays/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":\"nl\",\"type\":\"holidays\",\"countryCode\":\"NL\",\"n\":1,\"direction\":\"future\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("nl"))
+                .andExpect(jsonPath("$[0].type").value("holidays"))
+                .andExpect(jsonPath("$[0].result[0].localName").value("Koningsdag"))
+                .andExpect(jsonPath("$[0].error").doesNotExist());
+
+        verify(holidayQueryService, times(1)).run(List.of(query));
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        // Handlers return CompletableFutures, so dispatch again once the async result is available
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,239 @@
+package com.myorg.holidayservice.controller;
+
+import com.myorg.holidayservice.HolidayProperties;
+import com.myorg.holidayservice.model.Holiday;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayKey;
+import com.myorg.holidayservice.model.HolidayResults;
+import com.myorg.holidayservice.repository.HolidayCache;
+import com.myorg.holidayservice.repository.HolidayKeyPopularity;
+import com.myorg.holidayservice.repository.MutableClock;
+import com.myorg.holidayservice.service.HolidayQueryService;
+import com.myorg.holidayservice.service.HolidayService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HolidayResponseCacheTest {
+
+    private static final HolidayKey US_2024 = HolidayKey.of(2024, "US");
+    private static final HolidayKey NL_2024 = HolidayKey.of(2024, "NL");
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-06-01T12:00:00Z"));
+
+    @Mock
+    private HolidayService holidayService;
+
+    @Mock
+    private HolidayQueryService holidayQueryService;
+
+    @Spy
+    private HolidayHttpCaching httpCaching = new HolidayHttpCaching(new HolidayProperties(), clock);
+
+    @InjectMocks
+    private HolidayController holidayController;
+
+    private final HolidayCache holidayCache = new HolidayCache(new HolidayProperties(), clock);
+    private final HolidayKeyPopularity popularity = new HolidayKeyPopularity();
+    private final HolidayResponseCache responseCache = new HolidayResponseCache(new HolidayProperties(), holidayCache, popularity, clock);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(holidayController)
+                .setControllerAdvice(new StaleDataResponseAdvice(), new HolidayResponseSourcesAdvice())
+                .addFilters(responseCache)
+                .build();
+    }
+
+    @Test
+    void repeatedRequest_ShouldBeWrittenFromTheCacheWithoutCallingTheService() throws Exception {
+        // Arrange
+        stubCommonHolidays(commonHolidays(calendar("Christmas Day"), calendar("Christmas Day")));
+
+        // Act
+        MvcResult first = performAsync(commonHolidaysRequest()).andExpect(status().isOk()).andReturn();
+        MvcResult second = mockMvc.perform(commonHolidaysRequest())
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert
+        assertEquals(first.getResponse().getContentAsString(), second.getResponse().getContentAsString());
+        assertEquals(first.getResponse().getHeader(HttpHeaders.ETAG), second.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals("max-age=86400, public", second.getResponse().getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(1, responseCache.hits());
+        verify(holidayService, times(1)).getCommonHolidays(2024, "US", "NL");
+    }
+
+    @Test
+    void cacheHit_ShouldOnlyAllowTheRestOfTheStoredMaxAge() throws Exception {
+        // Arrange: past-year responses may be kept for a day
+        stubCommonHolidays(commonHolidays(calendar("Christmas Day"), calendar("Christmas Day")));
+        performAsync(commonHolidaysRequest()).andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, public"));
+
+        // Act
+        clock.advance(Duration.ofSeconds(86_000));
+
+        // Assert
+        mockMvc.perform(commonHolidaysRequest())
+                .andExpect(request().asyncNotStarted())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=400, public"));
+        assertEquals(1, responseCache.hits());
+    }
+
+    @Test
+    void cacheHit_ShouldCountAsRequestForItsDatasets() throws Exception {
+        // Arrange
+        stubCommonHolidays(commonHolidays(calendar("Christmas Day"), calendar("Christmas Day")));
+        performAsync(commonHolidaysRequest()).andExpect(status().isOk());
+
+        // Act
+        mockMvc.perform(commonHolidaysRequest()).andExpect(request().asyncNotStarted());
+        mockMvc.perform(commonHolidaysRequest()).andExpect(request().asyncNotStarted());
+
+        // Assert: the service is mocked, so only the hits were counted
+        assertEquals(2, popularity.count(US_2024));
+        assertEquals(2, popularity.count(NL_2024));
+    }
+
+    @Test
+    void cachedResponse_ShouldBeRecomputedOnceADatasetChanges() throws Exception {
+        // Arrange
+        stubCommonHolidays(commonHolidays(calendar("Christmas Day"), calendar("Christmas Day")));
+        performAsync(commonHolidaysRequest()).andExpect(status().isOk());
+
+        // Act
+        holidayCache.put(NL_2024, calendar("Eerste Kerstdag"));
+        MvcResult recomputed = mockMvc.perform(commonHolidaysRequest()).andReturn();
+
+        // Assert
+        assertTrue(recomputed.getRequest().isAsyncStarted());
+        assertEquals(0, responseCache.hits());
+        verify(holidayService, times(2)).getCommonHolidays(2024, "US", "NL");
+    }
+
+    @Test
+    void cachedResponse_ShouldBeGzippedOrNotModifiedOnRequest() throws Exception {
+        // Arrange
+        List<Holiday> many = new ArrayList<>();
+        for (int day = 1; day <= 40; day++) {
+            many.add(new Holiday(LocalDate.ofYearDay(2024, day), "Holiday " + day));
+        }
+        HolidayCalendar large = HolidayCalendar.of(many);
+        stubCommonHolidays(commonHolidays(large, large));
+        byte[] plain = performAsync(commonHolidaysRequest()).andReturn().getResponse().getContentAsByteArray();
+
+        // Act
+        MvcResult gzipped = mockMvc.perform(commonHolidaysRequest().header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+        String eTag = gzipped.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Assert
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray()))) {
+            assertArrayEquals(plain, in.readAllBytes());
+        }
+        mockMvc.perform(commonHolidaysRequest().header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(holidayService, times(1)).getCommonHolidays(2024, "US", "NL");
+    }
+
+    @Test
+    void cachedJson_ShouldNotBeServedToCborRequests() throws Exception {
+        // Arrange
+        stubCommonHolidays(commonHolidays(calendar("Christmas Day"), calendar("Christmas Day")));
+        performAsync(commonHolidaysRequest().accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+
+        // Act & Assert
+        performAsync(commonHolidaysRequest().accept(MediaType.APPLICATION_CBOR))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        mockMvc.perform(commonHolidaysRequest().accept(MediaType.APPLICATION_CBOR))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        assertEquals(2, responseCache.size());
+    }
+
+    @Test
+    void staleResponse_ShouldNotBeCached() throws Exception {
+        // Arrange
+        stubCommonHolidays(commonHolidays(calendar("Christmas Day").asStale(), calendar("Christmas Day")));
+
+        // Act
+        performAsync(commonHolidaysRequest()).andExpect(status().isOk());
+        performAsync(commonHolidaysRequest()).andExpect(status().isOk());
+
+        // Assert
+        assertEquals(0, responseCache.size());
+        verify(holidayService, times(2)).getCommonHolidays(2024, "US", "NL");
+    }
+
+    private static HolidayCalendar calendar(String christmasName) {
+        return HolidayCalendar.of(List.of(new Holiday(LocalDate.of(2024, 12, 25), christmasName)));
+    }
+
+    /**
+     * Caches both datasets and builds the results the service would compute from them.
+     */
+    private HolidayResults<Holiday> commonHolidays(HolidayCalendar us, HolidayCalendar nl) {
+        holidayCache.put(US_2024, us);
+        holidayCache.put(NL_2024, nl);
+        HolidayResults<Holiday> results = new HolidayResults<Holiday>().derivedFrom(US_2024, us).derivedFrom(NL_2024, nl);
+        for (int i = 0; i < us.size(); i++) {
+            results.add(us.holiday(i));
+        }
+        return results;
+    }
+
+    private void stubCommonHolidays(List<Holiday> results) {
+        when(holidayService.getCommonHolidays(2024, "US", "NL")).thenReturn(CompletableFuture.completedFuture(results));
+    }
+
+    private static MockHttpServletRequestBuilder commonHolidaysRequest() {
+        return get("/api/holidays/2024/common-holidays?countryCode1=US&countryCode2=NL");
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        // Handlers return CompletableFutures, so dispatch again once the async result is available
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -1,7 +1,11 @@
 package com.myorg.holidayservice;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.myorg.holidayservice.model.CountryHolidayCount;
 import com.myorg.holidayservice.model.Holiday;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.repository.HolidayBatch;
 import com.myorg.holidayservice.repository.HolidayRepository;
 import com.myorg.holidayservice.service.HolidayService;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,17 +14,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -38,6 +54,17 @@ public class HolidayIntegrationTest {
     @MockitoBean
     private HolidayRepository holidayRepository;
 
+    @TestConfiguration
+    static class FixedClockConfig {
+
+        // Pin "today" so the last-three-holidays lookups hit the stubbed 2025 data
+        @Bean
+        @Primary
+        Clock fixedClock() {
+            return Clock.fixed(LocalDate.of(2025, 2, 1).atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        }
+    }
+
     private Holiday holiday1;
     private Holiday holiday2;
 
@@ -55,10 +82,11 @@ public class HolidayIntegrationTest {
     void getLastThreeHolidays_ShouldReturnListOfHolidays() throws Exception {
         // Arrange
         List<Holiday> mockHolidays = Arrays.asList(holiday1, holiday2);
-        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(mockHolidays);
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(mockHolidays)));
+        when(holidayRepository.fetchHolidays(2024, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.EMPTY));
 
         // Act & Assert
-        mockMvc.perform(get("/api/holidays/{countryCode}", "US")
+        performAsync(get("/api/holidays/{countryCode}", "US")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].localName").value("New Year's Day"));
@@ -66,13 +94,34 @@ public class HolidayIntegrationTest {
         verify(holidayRepository, times(1)).fetchHolidays(2025, "US");
     }
 
+    @Test
+    void getLastThreeHolidays_ShouldReturnCborWhenAskedFor() throws Exception {
+        // Arrange
+        List<Holiday> mockHolidays = Arrays.asList(holiday1, holiday2);
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(mockHolidays)));
+        when(holidayRepository.fetchHolidays(2024, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.EMPTY));
+
+        // Act
+        MvcResult result = performAsync(get("/api/holidays/{countryCode}", "US")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // Assert
+        JsonNode holidays = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("2025-01-01", holidays.get(0).get("date").asText());
+        assertEquals("New Year's Day", holidays.get(0).get("localName").asText());
+    }
+
     @Test
     void getLastThreeHolidays_ShouldReturnNotFoundWhenNoHolidaysFound() throws Exception {
         // Arrange
-        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(Collections.emptyList());
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.EMPTY));
+        when(holidayRepository.fetchHolidays(2024, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.EMPTY));
 
         // Act & Assert
-        mockMvc.perform(get("/api/holidays/{countryCode}", "US")
+        performAsync(get("/api/holidays/{countryCode}", "US")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
 
@@ -85,11 +134,12 @@ public class HolidayIntegrationTest {
         List<Holiday> mockHolidaysUS = Arrays.asList(holiday1, holiday2);
         List<Holiday> mockHolidaysIN = Collections.singletonList(holiday1);
 
-        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(mockHolidaysUS);
-        when(holidayRepository.fetchHolidays(2025, "IN")).thenReturn(mockHolidaysIN);
+        Map<String, HolidayCalendar> batch = Map.of("US", HolidayCalendar.of(mockHolidaysUS), "IN", HolidayCalendar.of(mockHolidaysIN));
+        when(holidayRepository.fetchHolidaysBatch(2025, List.of("US", "IN")))
+                .thenReturn(CompletableFuture.completedFuture(new HolidayBatch(2025, batch, Map.of())));
 
         // Act & Assert
-        mockMvc.perform(get("/api/holidays/{year}/public-holidays", 2025)
+        performAsync(get("/api/holidays/{year}/public-holidays", 2025)
                         .param("countryCodes", "US", "IN")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -98,8 +148,7 @@ public class HolidayIntegrationTest {
                 .andExpect(jsonPath("$[1].countryCode").value("IN"))
                 .andExpect(jsonPath("$[1].count").value(1)); // 1 non-weekend holiday
 
-        verify(holidayRepository, times(1)).fetchHolidays(2025, "US");
-        verify(holidayRepository, times(1)).fetchHolidays(2025, "IN");
+        verify(holidayRepository, times(1)).fetchHolidaysBatch(2025, List.of("US", "IN"));
     }
 
     @Test
@@ -108,11 +157,11 @@ public class HolidayIntegrationTest {
         List<Holiday> mockHolidaysUS = Arrays.asList(holiday1, holiday2);
         List<Holiday> mockHolidaysIN = Collections.singletonList(holiday1);
 
-        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(mockHolidaysUS);
-        when(holidayRepository.fetchHolidays(2025, "IN")).thenReturn(mockHolidaysIN);
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(mockHolidaysUS)));
+        when(holidayRepository.fetchHolidays(2025, "IN")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(mockHolidaysIN)));
 
         // Act & Assert
-        mockMvc.perform(get("/api/holidays/{year}/common-holidays", 2025)
+        performAsync(get("/api/holidays/{year}/common-holidays", 2025)
                         .param("countryCode1", "US")
                         .param("countryCode2", "IN")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -129,11 +178,11 @@ public class HolidayIntegrationTest {
         List<Holiday> mockHolidaysUS = Collections.singletonList(holiday1);
         List<Holiday> mockHolidaysIN = Collections.singletonList(holiday2);
 
-        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(mockHolidaysUS);
-        when(holidayRepository.fetchHolidays(2025, "IN")).thenReturn(mockHolidaysIN);
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(mockHolidaysUS)));
+        when(holidayRepository.fetchHolidays(2025, "IN")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(mockHolidaysIN)));
 
         // Act & Assert
-        mockMvc.perform(get("/api/holidays/{year}/common-holidays", 2025)
+        performAsync(get("/api/holidays/{year}/common-holidays", 2025)
                         .param("countryCode1", "US")
                         .param("countryCode2", "IN")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -142,4 +191,12 @@ public class HolidayIntegrationTest {
         verify(holidayRepository, times(1)).fetchHolidays(2025, "US");
         verify(holidayRepository, times(1)).fetchHolidays(2025, "IN");
     }
-}
\ No newline at end of file
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        // Handlers return CompletableFutures, so dispatch again once the async result is available
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
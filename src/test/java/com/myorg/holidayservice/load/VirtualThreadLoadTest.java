@@ -0,0 +1,141 @@
+package com.myorg.holidayservice.load;
+
+import com.myorg.holidayservice.HolidayServiceApplication;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares throughput of the service with virtual threads on and off against a slow stub upstream.
+ * Handlers release their request thread while the upstream call is in flight, so either way the service
+ * must serve more requests per second than its Tomcat threads could if each one waited on the upstream,
+ * and virtual threads must not be slower than the platform pool.
+ * Excluded from the default build; run with {@code mvn test -Pload-test} (the virtual-thread run needs Java 21+).
+ */
+@Tag("load")
+public class VirtualThreadLoadTest {
+
+    private static final int REQUESTS = 1000;
+    private static final int TOMCAT_THREADS = 20;
+    // Allowance for run-to-run noise when comparing the two modes
+    private static final double TOLERANCE = 0.9;
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(200);
+    private static final byte[] UPSTREAM_BODY = "[{\"date\":\"2025-01-01\",\"localName\":\"New Year's Day\"}]"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static HttpServer upstream;
+    private static ScheduledExecutorService upstreamScheduler;
+
+    @BeforeAll
+    static void startUpstream() throws IOException {
+        // Responses are completed by a scheduler so the stub itself never holds a thread per request
+        upstreamScheduler = Executors.newScheduledThreadPool(4);
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), REQUESTS);
+        upstream.createContext("/", exchange -> upstreamScheduler.schedule(() -> {
+            try (OutputStream body = exchange.getResponseBody()) {
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, UPSTREAM_BODY.length);
+                body.write(UPSTREAM_BODY);
+            } catch (IOException e) {
+                exchange.close();
+            }
+        }, UPSTREAM_LATENCY.toMillis(), TimeUnit.MILLISECONDS));
+        upstream.start();
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.stop(0);
+        upstreamScheduler.shutdownNow();
+    }
+
+    @Test
+    void platformThreads_ShouldServeMoreThanOneRequestPerThreadAtATime() throws Exception {
+        // Act
+        double platformThroughput = measureThroughput(false);
+
+        // Assert
+        assertTrue(platformThroughput > blockingThroughputBound(),
+                String.format("%.1f requests/s, bound for blocking handlers %.1f", platformThroughput, blockingThroughputBound()));
+    }
+
+    @Test
+    void virtualThreads_ShouldBeAtLeastAsFastAsPlatformThreads() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads need Java 21+");
+
+        // Act
+        double platformThroughput = measureThroughput(false);
+        double virtualThroughput = measureThroughput(true);
+
+        // Assert
+        assertTrue(virtualThroughput > blockingThroughputBound(),
+                String.format("%.1f requests/s, bound for blocking handlers %.1f", virtualThroughput, blockingThroughputBound()));
+        assertTrue(virtualThroughput >= platformThroughput * TOLERANCE,
+                String.format("virtual %.1f requests/s, platform %.1f requests/s", virtualThroughput, platformThroughput));
+    }
+
+    /**
+     * Requests per second the Tomcat threads could serve if each one waited on its upstream call.
+     */
+    private static double blockingThroughputBound() {
+        return TOMCAT_THREADS / (UPSTREAM_LATENCY.toMillis() / 1000.0);
+    }
+
+    private double measureThroughput(boolean virtualThreads) throws Exception {
+        // Passed as command-line arguments so they override the test application.properties
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HolidayServiceApplication.class).run(
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "--api.holidays.url=http://localhost:" + upstream.getAddress().getPort() + "/",
+                "--api.holidays.http.max-connections=" + REQUESTS,
+                "--api.holidays.http.max-pending-acquires=" + REQUESTS,
+                // Every request is in flight at once, so the bulkhead must not turn them away
+                "--api.holidays.circuit-breaker.max-concurrent-calls=" + REQUESTS,
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                // Each run must start cold, or a later run would be served from the snapshot of an earlier one
+                "--api.holidays.snapshot.enabled=false",
+                "--api.holidays.warmer.enabled=false",
+                "--logging.level.com.myorg.holidayservice=WARN")) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                // A distinct country per request so every request misses the cache and waits on the upstream
+                URI uri = URI.create(baseUrl + "/api/holidays/2025/public-holidays?countryCodes=C" + i);
+                responses.add(client.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding()));
+            }
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            for (CompletableFuture<HttpResponse<Void>> response : responses) {
+                assertEquals(200, response.join().statusCode());
+            }
+            return REQUESTS / elapsedSeconds;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.myorg.holidayservice.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BusinessCalendarTest {
+
+    private static final int SAT_SUN = BusinessCalendar.weekendMask(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+
+    private static int day(int year, int month, int dayOfMonth) {
+        return (int) LocalDate.of(year, month, dayOfMonth).toEpochDay();
+    }
+
+    @Test
+    void of_ShouldMarkWeekendsAndHolidaysAsNonWorking() {
+        // Arrange: 2025-01-01 is a Wednesday holiday, 2025-01-04 a Saturday
+        HolidayCalendar holidays = HolidayCalendar.of(List.of(new Holiday(LocalDate.of(2025, 1, 1), "New Year's Day")));
+
+        // Act
+        BusinessCalendar calendar = BusinessCalendar.of(2025, holidays, SAT_SUN);
+
+        // Assert
+        assertFalse(calendar.isWorkingDay(day(2025, 1, 1)));
+        assertTrue(calendar.isWorkingDay(day(2025, 1, 2)));
+        assertFalse(calendar.isWorkingDay(day(2025, 1, 4)));
+        assertEquals(260, calendar.workingDayCount()); // 261 weekdays in 2025, minus the holiday
+    }
+
+    @Test
+    void workingDaysBefore_ShouldCountWithPrefixSums() {
+        // Arrange
+        BusinessCalendar calendar = BusinessCalendar.of(2025, HolidayCalendar.EMPTY, SAT_SUN);
+
+        // Act & Assert
+        assertEquals(0, calendar.workingDaysBefore(day(2025, 1, 1)));
+        assertEquals(3, calendar.workingDaysBefore(day(2025, 1, 4))); // Wed, Thu, Fri
+        assertEquals(calendar.workingDayCount(), calendar.workingDaysBefore(day(2026, 1, 1)));
+        assertEquals(day(2025, 1, 6), calendar.workingDay(3));
+        assertThrows(IllegalArgumentException.class, () -> calendar.isWorkingDay(day(2026, 1, 1)));
+    }
+
+    @Test
+    void weekendMask_ShouldSupportOtherWeekends() {
+        // Arrange: Friday and Saturday off
+        int fridaySaturday = BusinessCalendar.weekendMask(EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY));
+
+        // Act
+        BusinessCalendar calendar = BusinessCalendar.of(2025, HolidayCalendar.EMPTY, fridaySaturday);
+
+        // Assert
+        assertFalse(calendar.isWorkingDay(day(2025, 1, 3)));
+        assertTrue(calendar.isWorkingDay(day(2025, 1, 5)));
+        assertThrows(IllegalArgumentException.class, () -> BusinessCalendar.weekendMask(EnumSet.allOf(DayOfWeek.class)));
+    }
+}
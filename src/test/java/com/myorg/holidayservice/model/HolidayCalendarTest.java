@@ -0,0 +1,104 @@
+package com.myorg.holidayservice.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidayCalendarTest {
+
+    @Test
+    void of_ShouldOrderHolidaysByDateKeepingOrderOfSameDate() {
+        // Arrange
+        Holiday christmas = new Holiday(LocalDate.of(2025, 12, 25), "Christmas Day");
+        Holiday newYear = new Holiday(LocalDate.of(2025, 1, 1), "New Year's Day");
+        Holiday regionalNewYear = new Holiday(LocalDate.of(2025, 1, 1), "Regional New Year");
+
+        // Act
+        HolidayCalendar calendar = HolidayCalendar.of(List.of(christmas, newYear, regionalNewYear));
+
+        // Assert
+        assertEquals(3, calendar.size());
+        assertEquals(LocalDate.of(2025, 1, 1), calendar.date(0));
+        assertEquals("New Year's Day", calendar.localName(0));
+        assertEquals("Regional New Year", calendar.localName(1));
+        assertEquals(christmas.getDate(), calendar.asList().get(2).getDate());
+        assertEquals("Christmas Day", calendar.holiday(2).getLocalName());
+    }
+
+    @Test
+    void of_ShouldShareLocalNamesAcrossCalendars() {
+        // Arrange
+        String first = new String("Labour Day");
+        String second = new String("Labour Day");
+
+        // Act
+        HolidayCalendar nl = HolidayCalendar.of(List.of(new Holiday(LocalDate.of(2025, 5, 1), first)));
+        HolidayCalendar de = HolidayCalendar.of(List.of(new Holiday(LocalDate.of(2025, 5, 1), second)));
+
+        // Assert
+        assertSame(nl.localName(0), de.localName(0));
+    }
+
+    @Test
+    void indexOnOrAfter_ShouldBinarySearchEpochDays() {
+        // Arrange
+        HolidayCalendar calendar = HolidayCalendar.of(List.of(
+                new Holiday(LocalDate.of(2025, 1, 1), "New Year's Day"),
+                new Holiday(LocalDate.of(2025, 5, 1), "Labour Day"),
+                new Holiday(LocalDate.of(2025, 12, 25), "Christmas Day")));
+
+        // Act & Assert
+        assertEquals(0, calendar.indexOnOrAfter((int) LocalDate.of(2024, 12, 31).toEpochDay()));
+        assertEquals(1, calendar.indexOnOrAfter((int) LocalDate.of(2025, 5, 1).toEpochDay()));
+        assertEquals(2, calendar.indexOnOrAfter((int) LocalDate.of(2025, 5, 2).toEpochDay()));
+        assertEquals(3, calendar.indexOnOrAfter((int) LocalDate.of(2025, 12, 26).toEpochDay()));
+    }
+
+    @Test
+    void of_ShouldReturnEmptyCalendarForNoHolidays() {
+        // Act
+        HolidayCalendar calendar = HolidayCalendar.of(List.of());
+
+        // Assert
+        assertTrue(calendar.isEmpty());
+        assertSame(HolidayCalendar.EMPTY, calendar);
+        assertTrue(calendar.asList().isEmpty());
+    }
+
+    @Test
+    void weekdayCount_ShouldBeDerivedWhenCalendarIsBuilt() {
+        // Arrange: 2025-01-01 is a Wednesday, 2025-05-03 a Saturday and 2025-05-04 a Sunday
+        int[] epochDays = {
+                (int) LocalDate.of(2025, 1, 1).toEpochDay(),
+                (int) LocalDate.of(2025, 5, 3).toEpochDay(),
+                (int) LocalDate.of(2025, 5, 4).toEpochDay(),
+                (int) LocalDate.of(2025, 12, 25).toEpochDay()};
+
+        // Act
+        HolidayCalendar calendar = HolidayCalendar.ofEncoded(epochDays, new String[]{"A", "B", "C", "D"});
+
+        // Assert
+        assertEquals(2, calendar.weekdayCount());
+        assertEquals(0, HolidayCalendar.EMPTY.weekdayCount());
+        assertEquals(3, calendar.countOnOrBefore((int) LocalDate.of(2025, 5, 4).toEpochDay()));
+        assertEquals(0, calendar.countOnOrBefore((int) LocalDate.of(2024, 12, 31).toEpochDay()));
+    }
+
+    @Test
+    void version_ShouldChangeOnlyWithTheData() {
+        // Arrange
+        Holiday newYear = new Holiday(LocalDate.of(2025, 1, 1), "New Year's Day");
+        Holiday christmas = new Holiday(LocalDate.of(2025, 12, 25), "Christmas Day");
+        HolidayCalendar calendar = HolidayCalendar.of(List.of(newYear, christmas));
+
+        // Act & Assert
+        assertEquals(calendar.version(), HolidayCalendar.of(List.of(christmas, newYear)).version());
+        assertEquals(calendar.version(), calendar.asStale().version());
+        assertNotEquals(calendar.version(), HolidayCalendar.of(List.of(newYear)).version());
+        assertNotEquals(calendar.version(), HolidayCalendar.of(List.of(newYear,
+                new Holiday(LocalDate.of(2025, 12, 25), "Kerstmis"))).version());
+    }
+}
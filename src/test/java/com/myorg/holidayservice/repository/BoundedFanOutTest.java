@@ -0,0 +1,93 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.HolidayProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedFanOutTest {
+
+    private HolidayProperties properties;
+
+    // Upstream calls started by the fan-out, completed by the tests
+    private final List<CompletableFuture<String>> started = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new HolidayProperties();
+        properties.getFanOut().setConcurrency(2);
+        properties.getFanOut().setDeadline(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void map_ShouldKeepAtMostConcurrencyTasksInFlight() {
+        BoundedFanOut fanOut = new BoundedFanOut(properties, Runnable::run);
+        List<String> items = List.of("US", "NL", "IN", "DE", "FR");
+
+        List<CompletableFuture<String>> results = fanOut.map(items, this::startCall);
+        assertEquals(2, started.size());
+
+        started.get(0).complete("US");
+        assertEquals(3, started.size());
+        started.get(1).complete("NL");
+        started.get(2).complete("IN");
+        assertEquals(5, started.size());
+        started.get(3).complete("DE");
+        started.get(4).complete("FR");
+
+        assertEquals(items, results.stream().map(CompletableFuture::join).toList());
+    }
+
+    @Test
+    void map_ShouldRunEveryTaskForLargeBatchesOfImmediateResults() {
+        BoundedFanOut fanOut = new BoundedFanOut(properties, Runnable::run);
+        List<Integer> items = IntStream.range(0, 500).boxed().toList();
+
+        List<CompletableFuture<Integer>> results = fanOut.map(items, CompletableFuture::completedFuture);
+
+        assertEquals(items, results.stream().map(CompletableFuture::join).toList());
+    }
+
+    @Test
+    void map_ShouldCompletePendingItemsWithTimeoutAfterDeadline() {
+        properties.getFanOut().setDeadline(Duration.ofMillis(50));
+        BoundedFanOut fanOut = new BoundedFanOut(properties, Runnable::run);
+
+        List<CompletableFuture<String>> results = fanOut.map(List.of("US", "NL"), this::startCall);
+        started.get(0).complete("US");
+
+        assertEquals("US", results.get(0).join());
+        CompletionException exception = assertThrows(CompletionException.class, () -> results.get(1).join());
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+    }
+
+    @Test
+    void map_ShouldReportTaskThatThrowsAsFailedItem() {
+        BoundedFanOut fanOut = new BoundedFanOut(properties, Runnable::run);
+
+        List<CompletableFuture<String>> results = fanOut.map(List.of("US", "NL"), item -> {
+            if (item.equals("US")) {
+                throw new IllegalStateException("boom");
+            }
+            return CompletableFuture.completedFuture(item);
+        });
+
+        assertThrows(CompletionException.class, () -> results.get(0).join());
+        assertEquals("NL", results.get(1).join());
+    }
+
+    private CompletableFuture<String> startCall(String item) {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        started.add(call);
+        return call;
+    }
+}
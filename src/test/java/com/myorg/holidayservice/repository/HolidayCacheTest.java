@@ -0,0 +1,96 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.HolidayProperties;
+import com.myorg.holidayservice.model.Holiday;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidayCacheTest {
+
+    private MutableClock clock;
+    private HolidayProperties properties;
+    private HolidayCache holidayCache;
+
+    private final HolidayCalendar holidays = HolidayCalendar.of(List.of(new Holiday(LocalDate.of(2025, 1, 1), "New Year's Day")));
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(LocalDate.of(2025, 6, 1).atStartOfDay(ZoneOffset.UTC).toInstant());
+        properties = new HolidayProperties();
+        properties.getCache().setMaxSize(2);
+        properties.getCache().setPastYearTtl(Duration.ofDays(30));
+        properties.getCache().setCurrentYearTtl(Duration.ofHours(1));
+        properties.getCache().setFutureYearTtl(Duration.ofMinutes(10));
+        holidayCache = new HolidayCache(properties, clock);
+    }
+
+    @Test
+    void get_ShouldCountHitsAndMisses() {
+        HolidayKey key = HolidayKey.of(2025, "US");
+
+        assertTrue(holidayCache.get(key).isEmpty());
+        holidayCache.put(key, holidays);
+        assertEquals(holidays, holidayCache.get(key).orElseThrow());
+
+        HolidayCacheStats stats = holidayCache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    void put_ShouldEvictLeastRecentlyUsedEntryWhenFull() {
+        HolidayKey us = HolidayKey.of(2025, "US");
+        HolidayKey nl = HolidayKey.of(2025, "NL");
+        HolidayKey in = HolidayKey.of(2025, "IN");
+
+        holidayCache.put(us, holidays);
+        holidayCache.put(nl, holidays);
+        holidayCache.get(us); // NL is now the least recently used entry
+        holidayCache.put(in, holidays);
+
+        assertTrue(holidayCache.get(us).isPresent());
+        assertTrue(holidayCache.get(nl).isEmpty());
+        assertTrue(holidayCache.get(in).isPresent());
+        assertEquals(1, holidayCache.stats().getEvictions());
+    }
+
+    @Test
+    void get_ShouldExpireEntriesUsingTtlOfTheirYear() {
+        HolidayKey past = HolidayKey.of(2024, "US");
+        HolidayKey current = HolidayKey.of(2025, "US");
+        HolidayKey future = HolidayKey.of(2026, "US");
+        properties.getCache().setMaxSize(10);
+
+        holidayCache.put(past, holidays);
+        holidayCache.put(current, holidays);
+        holidayCache.put(future, holidays);
+
+        clock.advance(Duration.ofMinutes(30));
+        assertTrue(holidayCache.get(past).isPresent());
+        assertTrue(holidayCache.get(current).isPresent());
+        assertTrue(holidayCache.get(future).isEmpty());
+
+        clock.advance(Duration.ofHours(1));
+        assertTrue(holidayCache.get(past).isPresent());
+        assertTrue(holidayCache.get(current).isEmpty());
+        assertEquals(2, holidayCache.stats().getExpirations());
+    }
+
+    @Test
+    void get_ShouldTreatCountryCodesCaseInsensitively() {
+        holidayCache.put(HolidayKey.of(2025, "us"), holidays);
+
+        assertTrue(holidayCache.get(HolidayKey.of(2025, "US")).isPresent());
+    }
+}
@@ -0,0 +1,134 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.HolidayProperties;
+import com.myorg.holidayservice.exception.HolidayException;
+import com.myorg.holidayservice.model.Holiday;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HolidayCacheWarmerTest {
+
+    private static final HolidayCalendar HOLIDAYS = HolidayCalendar.of(List.of(new Holiday(LocalDate.of(2025, 1, 1), "New Year's Day")));
+
+    @Mock
+    private HolidayRepository holidayRepository;
+
+    private MutableClock clock;
+    private HolidayCache holidayCache;
+    private HolidayKeyPopularity popularity;
+    private HolidayCacheWarmer warmer;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(LocalDate.of(2025, 6, 1).atStartOfDay(ZoneOffset.UTC).toInstant());
+        HolidayProperties properties = new HolidayProperties();
+        properties.getWarmer().setEnabled(true);
+        properties.getWarmer().setCountries(List.of("nl"));
+        properties.getWarmer().setRefreshAhead(Duration.ofMinutes(30));
+        holidayCache = new HolidayCache(properties, clock);
+        popularity = new HolidayKeyPopularity();
+        warmer = new HolidayCacheWarmer(properties, holidayRepository, holidayCache, popularity, clock, Runnable::run);
+
+        // Refreshing caches the result, as the repository does
+        lenient().when(holidayRepository.refresh(any())).thenAnswer(invocation -> {
+            holidayCache.put(invocation.getArgument(0), HOLIDAYS);
+            return CompletableFuture.completedFuture(HOLIDAYS);
+        });
+    }
+
+    @Test
+    void warm_ShouldPreloadCurrentAndPreviousYearOfConfiguredCountries() {
+        // Act
+        warmer.warm();
+
+        // Assert
+        verify(holidayRepository).refresh(HolidayKey.of(2025, "NL"));
+        verify(holidayRepository).refresh(HolidayKey.of(2024, "NL"));
+        assertEquals(2025, warmer.status().getWarmedYear());
+        assertEquals(2, warmer.status().getLastRunRefreshed());
+    }
+
+    @Test
+    void warm_ShouldRefreshPopularKeysOnlyWhenCloseToExpiry() {
+        // Arrange: current-year entries live for 12 hours; counts are halved once in between
+        HolidayKey popular = HolidayKey.of(2025, "US");
+        for (int i = 0; i < 4; i++) {
+            popularity.record(popular);
+        }
+        warmer.warm();
+        clearInvocations(holidayRepository);
+
+        // Act & Assert: still fresh
+        clock.advance(Duration.ofHours(11));
+        warmer.warm();
+        verify(holidayRepository, never()).refresh(popular);
+
+        // Act & Assert: within the refresh-ahead window
+        clock.advance(Duration.ofMinutes(40));
+        warmer.warm();
+        verify(holidayRepository).refresh(popular);
+        assertTrue(holidayCache.expiresAt(popular).orElseThrow().isAfter(clock.instant().plus(Duration.ofHours(11))));
+    }
+
+    @Test
+    void warm_ShouldPreloadNewYearsAfterRollover() {
+        // Arrange
+        warmer.warm();
+        clearInvocations(holidayRepository);
+
+        // Act
+        clock.advance(Duration.ofDays(214)); // 2026-01-01
+        warmer.warm();
+
+        // Assert
+        verify(holidayRepository).refresh(HolidayKey.of(2026, "NL"));
+        assertEquals(2026, warmer.status().getWarmedYear());
+    }
+
+    @Test
+    void warm_ShouldCountFailedRefreshes() {
+        // Arrange
+        doReturn(CompletableFuture.failedFuture(new HolidayException("Failed to fetch holidays from external service", null)))
+                .when(holidayRepository).refresh(HolidayKey.of(2024, "NL"));
+
+        // Act
+        warmer.warm();
+
+        // Assert
+        HolidayCacheWarmerStatus status = warmer.status();
+        assertEquals(1, status.getLastRunRefreshed());
+        assertEquals(1, status.getLastRunFailed());
+        assertEquals(1, status.getTotalFailed());
+    }
+
+    @Test
+    void top_ShouldRankKeysByRequestsAndDecay() {
+        // Arrange
+        HolidayKey us = HolidayKey.of(2025, "US");
+        HolidayKey nl = HolidayKey.of(2025, "NL");
+        popularity.record(nl);
+        popularity.record(us);
+        popularity.record(us);
+
+        // Act & Assert
+        assertEquals(List.of(us, nl), popularity.top(2));
+        popularity.decay();
+        assertEquals(List.of(us), popularity.top(2));
+    }
+}
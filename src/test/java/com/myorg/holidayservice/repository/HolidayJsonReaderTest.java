@@ -0,0 +1,77 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.model.Holiday;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidayJsonReaderTest {
+
+    @Test
+    void read_ShouldKeepDateAndLocalNameAndSkipOtherFields() throws Exception {
+        // Arrange
+        String json = """
+                [
+                  {"date": "2025-04-27", "localName": "Koningsdag", "name": "King's Day", "countryCode": "NL",
+                   "fixed": false, "global": true, "counties": null, "launchYear": null, "types": ["Public"]},
+                  {"name": "Unknown", "counties": ["NL-NH", {"nested": [1, 2]}], "date": "2025-01-01", "localName": "Nieuwjaarsdag"}
+                ]
+                """;
+
+        // Act
+        HolidayCalendar holidays = read(json);
+
+        // Assert: in date order
+        assertEquals(List.of(new Holiday(LocalDate.of(2025, 1, 1), "Nieuwjaarsdag"),
+                new Holiday(LocalDate.of(2025, 4, 27), "Koningsdag")), holidays.asList());
+        assertEquals("Nieuwjaarsdag", holidays.localName(0));
+        assertEquals("Koningsdag", holidays.localName(1));
+    }
+
+    @Test
+    void read_ShouldDropHolidaysWithoutDate() throws Exception {
+        // Act
+        HolidayCalendar holidays = read("[{\"date\": null, \"localName\": \"Invalid\"}, {\"localName\": \"Missing\"},"
+                + " {\"date\": \"2025-12-25\", \"localName\": \"Christmas Day\"}]");
+
+        // Assert
+        assertEquals(1, holidays.size());
+        assertEquals("Christmas Day", holidays.localName(0));
+    }
+
+    @Test
+    void read_ShouldReturnEmptyCalendarForEmptyDocuments() throws Exception {
+        // Act & Assert
+        assertSame(HolidayCalendar.EMPTY, read(""));
+        assertSame(HolidayCalendar.EMPTY, read("null"));
+        assertSame(HolidayCalendar.EMPTY, read("[]"));
+    }
+
+    @Test
+    void read_ShouldRejectDocumentsThatAreNotHolidayArrays() {
+        // Act & Assert
+        assertThrows(IOException.class, () -> read("{\"date\": \"2025-01-01\"}"));
+        assertThrows(IOException.class, () -> read("[\"2025-01-01\"]"));
+        assertThrows(IOException.class, () -> read("[{\"date\": \"2025-02-30\"}]"));
+        assertThrows(IOException.class, () -> read("[{\"date\": \"25-1-1\"}]"));
+    }
+
+    @Test
+    void epochDay_ShouldMatchLocalDate() {
+        // Act & Assert: every day of a few centuries, leap years included
+        for (LocalDate date = LocalDate.of(1899, 1, 1); date.getYear() < 2101; date = date.plusDays(1)) {
+            assertEquals(date.toEpochDay(), HolidayJsonReader.epochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth()));
+        }
+    }
+
+    private static HolidayCalendar read(String json) throws IOException {
+        return HolidayJsonReader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -1,39 +1,78 @@
 package com.myorg.holidayservice.repository;
 
+import com.myorg.holidayservice.HolidayProperties;
 import com.myorg.holidayservice.exception.HolidayException;
+import com.myorg.holidayservice.exception.UpstreamUnavailableException;
 import com.myorg.holidayservice.model.Holiday;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayKey;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
-
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
 
-@ExtendWith(MockitoExtension.class)
 public class HolidayRepositoryTest {
 
-    @Mock
-    private RestTemplate restTemplate;
-
-    @InjectMocks
-    private HolidayRepository holidayRepository;
+    private static final String HOLIDAYS_JSON = """
+            [
+              {"date": "2025-01-01", "localName": "New Year's Day", "name": "New Year's Day", "countryCode": "US", "global": true},
+              {"date": "2025-12-25", "localName": "Christmas Day", "name": "Christmas Day", "countryCode": "US", "global": true}
+            ]
+            """;
 
     private String apiUrl;
 
+    // Canned upstream responses, consumed in order, and the URLs that were requested
+    private final Queue<Mono<ClientResponse>> responses = new ArrayDeque<>();
+    private final List<URI> requestedUrls = new ArrayList<>();
+
+    // Requests are for 2025, which is a past year according to this clock
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-02-01T00:00:00Z"));
+
+    @TempDir
+    Path snapshotDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final HolidayProperties properties = new HolidayProperties();
+
+    private HolidaySnapshotStore snapshotStore;
+    private HolidayRepository holidayRepository;
+
     @BeforeEach
     void setUp() {
         apiUrl = "https://api.example.com/holidays/";
-        holidayRepository = new HolidayRepository(restTemplate, apiUrl);
+        holidayRepository = createRepository(false);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        snapshotStore.close();
     }
 
     @Test
@@ -41,115 +80,380 @@ public class HolidayRepositoryTest {
         // Arrange
         int year = 2025;
         String countryCode = "US";
-        String url = String.format("%s%s/%s", apiUrl, year, countryCode);
-
-        // Create LocalDate objects for the holidays
-        LocalDate newYearDate = LocalDate.of(2025, 1, 1);
-        LocalDate christmasDate = LocalDate.of(2025, 12, 25);
-
-        Holiday[] mockHolidays = {
-                new Holiday(newYearDate, "New Year's Day"),
-                new Holiday(christmasDate, "Christmas Day")
-        };
-        ResponseEntity<Holiday[]> mockResponse = new ResponseEntity<>(mockHolidays, HttpStatus.OK);
-
-        when(restTemplate.getForEntity(url, Holiday[].class)).thenReturn(mockResponse);
+        respondWith(HttpStatus.OK, HOLIDAYS_JSON);
 
         // Act
-        List<Holiday> result = holidayRepository.fetchHolidays(year, countryCode);
+        List<Holiday> result = holidayRepository.fetchHolidays(year, countryCode).join().asList();
 
         // Assert
         assertEquals(2, result.size());
+        assertEquals(LocalDate.of(2025, 1, 1), result.get(0).getDate());
         assertEquals("New Year's Day", result.get(0).getLocalName());
         assertEquals("Christmas Day", result.get(1).getLocalName());
-        verify(restTemplate, times(1)).getForEntity(url, Holiday[].class);
+        assertEquals(List.of(URI.create(String.format("%s%s/%s", apiUrl, year, countryCode))), requestedUrls);
     }
 
     @Test
     void fetchHolidays_ShouldReturnEmptyListForNon2xxResponse() {
         // Arrange
-        int year = 2025;
-        String countryCode = "US";
-        String url = String.format("%s%s/%s", apiUrl, year, countryCode);
+        respondWith(HttpStatus.NOT_FOUND, "");
 
-        ResponseEntity<Holiday[]> mockResponse = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        // Act
+        List<Holiday> result = holidayRepository.fetchHolidays(2025, "US").join().asList();
 
-        when(restTemplate.getForEntity(url, Holiday[].class)).thenReturn(mockResponse);
+        // Assert
+        assertTrue(result.isEmpty());
+        assertEquals(1, requestedUrls.size());
+    }
+
+    @Test
+    void fetchHolidays_ShouldReturnEmptyListForEmptyResponseBody() {
+        // Arrange
+        responses.add(Mono.just(ClientResponse.create(HttpStatus.OK).build()));
 
         // Act
-        List<Holiday> result = holidayRepository.fetchHolidays(year, countryCode);
+        List<Holiday> result = holidayRepository.fetchHolidays(2025, "US").join().asList();
 
         // Assert
         assertTrue(result.isEmpty());
-        verify(restTemplate, times(1)).getForEntity(url, Holiday[].class);
+        assertEquals(1, requestedUrls.size());
     }
 
     @Test
-    void fetchHolidays_ShouldReturnEmptyListForNullResponseBody() {
+    void fetchHolidays_ShouldThrowHolidayExceptionOnConnectionFailure() {
         // Arrange
-        int year = 2025;
-        String countryCode = "US";
-        String url = String.format("%s%s/%s", apiUrl, year, countryCode);
+        responses.add(Mono.error(new WebClientRequestException(new IOException("API call failed"),
+                HttpMethod.GET, URI.create(apiUrl), new HttpHeaders())));
+
+        // Act & Assert
+        HolidayException exception = assertHolidayException(holidayRepository.fetchHolidays(2025, "US"));
 
-        ResponseEntity<Holiday[]> mockResponse = new ResponseEntity<>(null, HttpStatus.OK);
+        assertEquals("Failed to fetch holidays from external service", exception.getMessage());
+        assertTrue(exception.getCause() instanceof WebClientRequestException);
+    }
+
+    @Test
+    void fetchHolidays_ShouldThrowHolidayExceptionOnServerError() {
+        // Arrange
+        respondWith(HttpStatus.SERVICE_UNAVAILABLE, "");
+
+        // Act & Assert
+        HolidayException exception = assertHolidayException(holidayRepository.fetchHolidays(2025, "US"));
+
+        assertEquals("Failed to fetch holidays from external service", exception.getMessage());
+    }
 
-        when(restTemplate.getForEntity(url, Holiday[].class)).thenReturn(mockResponse);
+    @Test
+    void fetchHolidays_ShouldFilterOutHolidaysWithNullDate() {
+        // Arrange
+        respondWith(HttpStatus.OK, """
+                [
+                  {"date": "2025-01-01", "localName": "New Year's Day"},
+                  {"date": null, "localName": "Invalid Holiday"},
+                  {"date": "2025-12-25", "localName": "Christmas Day"}
+                ]
+                """);
 
         // Act
-        List<Holiday> result = holidayRepository.fetchHolidays(year, countryCode);
+        List<Holiday> result = holidayRepository.fetchHolidays(2025, "US").join().asList();
 
         // Assert
-        assertTrue(result.isEmpty());
-        verify(restTemplate, times(1)).getForEntity(url, Holiday[].class);
+        assertEquals(2, result.size());
+        assertEquals("New Year's Day", result.get(0).getLocalName());
+        assertEquals("Christmas Day", result.get(1).getLocalName());
     }
 
     @Test
-    void fetchHolidays_ShouldThrowHolidayExceptionOnRestClientException() {
+    void fetchHolidays_ShouldServeRepeatedRequestsFromCache() {
         // Arrange
-        int year = 2025;
-        String countryCode = "US";
-        String url = String.format("%s%s/%s", apiUrl, year, countryCode);
+        respondWith(HttpStatus.OK, HOLIDAYS_JSON);
 
-        when(restTemplate.getForEntity(url, Holiday[].class))
-                .thenThrow(new RestClientException("API call failed"));
+        // Act
+        List<Holiday> first = holidayRepository.fetchHolidays(2025, "US").join().asList();
+        List<Holiday> second = holidayRepository.fetchHolidays(2025, "us").join().asList();
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals(1, requestedUrls.size());
+    }
+
+    @Test
+    void fetchHolidays_ShouldNotCacheFailures() {
+        // Arrange
+        respondWith(HttpStatus.INTERNAL_SERVER_ERROR, "");
+        respondWith(HttpStatus.OK, HOLIDAYS_JSON);
 
         // Act & Assert
-        HolidayException exception = assertThrows(HolidayException.class, () -> {
-            holidayRepository.fetchHolidays(year, countryCode);
-        });
+        assertHolidayException(holidayRepository.fetchHolidays(2025, "US"));
+        assertEquals(2, holidayRepository.fetchHolidays(2025, "US").join().size());
+        assertEquals(2, requestedUrls.size());
+    }
 
-        assertEquals("Failed to fetch holidays from external service", exception.getMessage());
-        assertTrue(exception.getCause() instanceof RestClientException);
-        verify(restTemplate, times(1)).getForEntity(url, Holiday[].class);
+    @Test
+    void fetchHolidays_ShouldShareInFlightCallBetweenConcurrentCallers() {
+        // Arrange
+        CompletableFuture<ClientResponse> upstream = new CompletableFuture<>();
+        responses.add(Mono.fromFuture(upstream));
+
+        // Act
+        CompletableFuture<HolidayCalendar> first = holidayRepository.fetchHolidays(2025, "US");
+        CompletableFuture<HolidayCalendar> second = holidayRepository.fetchHolidays(2025, "US");
+        upstream.complete(jsonResponse(HttpStatus.OK, HOLIDAYS_JSON));
+
+        // Assert
+        assertEquals(2, first.join().size());
+        assertEquals(first.join(), second.join());
+        assertEquals(1, requestedUrls.size());
     }
 
     @Test
-    void fetchHolidays_ShouldFilterOutHolidaysWithNullDate() {
+    void fetchHolidaysBatch_ShouldNotRefetchMissCachedByAnotherLoadBeforeItStarts() {
+        // Arrange: one fetch at a time, so NL waits behind US in the batch
+        properties.getFanOut().setConcurrency(1);
+        holidayRepository = createRepository(false);
+        CompletableFuture<ClientResponse> us = new CompletableFuture<>();
+        responses.add(Mono.fromFuture(us));
+        respondWith(HttpStatus.OK, HOLIDAYS_JSON);
+
+        // Act: NL is loaded and released by another caller while the batch still counts it as a miss
+        CompletableFuture<HolidayBatch> batch = holidayRepository.fetchHolidaysBatch(2025, List.of("US", "NL"));
+        holidayRepository.fetchHolidays(2025, "NL").join();
+        us.complete(jsonResponse(HttpStatus.OK, HOLIDAYS_JSON));
+
+        // Assert
+        assertEquals(List.of("US", "NL"), List.copyOf(batch.join().getHolidays().keySet()));
+        assertEquals(List.of(URI.create(apiUrl + "2025/US"), URI.create(apiUrl + "2025/NL")), requestedUrls);
+    }
+
+    @Test
+    void refresh_ShouldReloadKeyThatIsStillCached() {
         // Arrange
-        int year = 2025;
-        String countryCode = "US";
-        String url = String.format("%s%s/%s", apiUrl, year, countryCode);
+        respondWith(HttpStatus.OK, HOLIDAYS_JSON);
+        holidayRepository.fetchHolidays(2025, "US").join();
+        respondWith(HttpStatus.OK, HOLIDAYS_JSON);
+
+        // Act
+        holidayRepository.refresh(HolidayKey.of(2025, "US")).join();
+
+        // Assert
+        assertEquals(2, requestedUrls.size());
+    }
+
+    @Test
+    void fetchHolidays_ShouldServePastYearFromSnapshotWhenUpstreamFails() {
+        // Arrange
+        holidayRepository = createRepository(true);
+        HolidayCalendar persisted = HolidayCalendar.of(List.of(new Holiday(LocalDate.of(2025, 1, 1), "New Year's Day")));
+        snapshotStore.save(HolidayKey.of(2025, "US"), persisted, clock.instant()).join();
+        holidayRepository.getHolidayCache().clear();
+        respondWith(HttpStatus.SERVICE_UNAVAILABLE, "");
+
+        // Act
+        List<Holiday> result = holidayRepository.fetchHolidays(2025, "US").join().asList();
+
+        // Assert
+        assertEquals(persisted.asList(), result);
+        assertEquals(1, requestedUrls.size());
+    }
+
+    @Test
+    void fetchHolidays_ShouldNotServeCurrentYearFromSnapshot() {
+        // Arrange
+        holidayRepository = createRepository(true);
+        snapshotStore.save(HolidayKey.of(2026, "US"),
+                HolidayCalendar.of(List.of(new Holiday(LocalDate.of(2026, 1, 1), "New Year's Day"))), clock.instant()).join();
+        respondWith(HttpStatus.SERVICE_UNAVAILABLE, "");
+
+        // Act & Assert
+        assertHolidayException(holidayRepository.fetchHolidays(2026, "US"));
+    }
+
+    @Test
+    void warmCacheFromSnapshot_ShouldServeSnapshotWithoutCallingUpstream() throws Exception {
+        // Arrange
+        respondWith(HttpStatus.OK, HOLIDAYS_JSON);
+        holidayRepository = createRepository(true);
+        holidayRepository.fetchHolidays(2025, "US").join();
+        snapshotStore.close();
+
+        // Act: a restarted instance
+        holidayRepository = createRepository(true);
+        holidayRepository.warmCacheFromSnapshot();
+        List<Holiday> result = holidayRepository.fetchHolidays(2025, "US").join().asList();
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(1, requestedUrls.size());
+    }
+
+    @Test
+    void fetchHolidaysBatch_ShouldDeduplicateAndFetchOnlyCacheMisses() {
+        // Arrange
+        respondWith(HttpStatus.OK, HOLIDAYS_JSON);
+        holidayRepository.fetchHolidays(2025, "US").join();
+        respondWith(HttpStatus.OK, HOLIDAYS_JSON);
+
+        // Act
+        HolidayBatch batch = holidayRepository.fetchHolidaysBatch(2025, List.of("nl", "US", "NL", " us")).join();
+
+        // Assert
+        assertEquals(List.of("NL", "US"), List.copyOf(batch.getHolidays().keySet()));
+        assertTrue(batch.getFailures().isEmpty());
+        assertEquals(2, batch.getHolidays().get("NL").size());
+        assertEquals(URI.create(apiUrl + "2025/NL"), requestedUrls.get(1));
+        assertEquals(2, requestedUrls.size());
+    }
+
+    @Test
+    void fetchHolidaysBatch_ShouldReportFailedCountriesWithoutFailingTheBatch() {
+        // Arrange
+        respondWith(HttpStatus.OK, HOLIDAYS_JSON);
+        respondWith(HttpStatus.SERVICE_UNAVAILABLE, "");
+
+        // Act
+        HolidayBatch batch = holidayRepository.fetchHolidaysBatch(2025, List.of("US", "NL")).join();
+
+        // Assert
+        assertEquals(List.of("US"), List.copyOf(batch.getHolidays().keySet()));
+        assertInstanceOf(HolidayException.class, batch.getFailures().get("NL"));
+    }
 
-        // Create LocalDate objects for the holidays
-        LocalDate newYearDate = LocalDate.of(2025, 1, 1);
-        LocalDate christmasDate = LocalDate.of(2025, 12, 25);
+    @Test
+    void fetchHolidays_ShouldTimeUpstreamCallsByOutcomeAndBoundedCountry() {
+        // Arrange
+        respondWith(HttpStatus.OK, HOLIDAYS_JSON);
+        respondWith(HttpStatus.SERVICE_UNAVAILABLE, "");
+        respondWith(HttpStatus.NOT_FOUND, "");
 
-        Holiday[] mockHolidays = {
-                new Holiday(newYearDate, "New Year's Day"),
-                new Holiday(null, "Invalid Holiday"), // Holiday with null date
-                new Holiday(christmasDate, "Christmas Day")
-        };
-        ResponseEntity<Holiday[]> mockResponse = new ResponseEntity<>(mockHolidays, HttpStatus.OK);
+        // Act
+        holidayRepository.fetchHolidays(2025, "US").join();
+        assertThrows(CompletionException.class, () -> holidayRepository.fetchHolidays(2025, "NL").join());
+        holidayRepository.fetchHolidays(2025, "XX").join();
+
+        // Assert: only the configured country gets its own tag
+        assertEquals(1, meterRegistry.get("holidays.upstream.requests").tags("outcome", "success", "country", "US").timer().count());
+        assertEquals(1, meterRegistry.get("holidays.upstream.requests").tags("outcome", "server_error", "country", "other").timer().count());
+        assertEquals(1, meterRegistry.get("holidays.upstream.requests").tags("outcome", "client_error", "country", "other").timer().count());
+    }
 
-        when(restTemplate.getForEntity(url, Holiday[].class)).thenReturn(mockResponse);
+    @Test
+    void fetchHolidays_ShouldServeExpiredEntryMarkedStaleWhenUpstreamFails() {
+        // Arrange: current-year entries live for 12 hours
+        respondWith(HttpStatus.OK, HOLIDAYS_JSON);
+        HolidayCalendar fresh = holidayRepository.fetchHolidays(2026, "US").join();
+        clock.advance(Duration.ofHours(13));
+        respondWith(HttpStatus.SERVICE_UNAVAILABLE, "");
 
         // Act
-        List<Holiday> result = holidayRepository.fetchHolidays(year, countryCode);
+        HolidayCalendar result = holidayRepository.fetchHolidays(2026, "US").join();
 
         // Assert
+        assertFalse(fresh.isStale());
+        assertTrue(result.isStale());
+        assertEquals(fresh, result);
+        assertEquals(2, requestedUrls.size());
+        assertEquals(1, meterRegistry.get("holidays.stale.served").counter().count());
+    }
+
+    @Test
+    void fetchHolidays_ShouldFailFastWithoutCallingUpstreamWhileCircuitIsOpen() {
+        // Arrange: two failures out of two calls open the circuit
+        properties.getCircuitBreaker().setSlidingWindowSize(2);
+        properties.getCircuitBreaker().setMinimumCalls(2);
+        holidayRepository = createRepository(false);
+        respondWith(HttpStatus.SERVICE_UNAVAILABLE, "");
+        respondWith(HttpStatus.SERVICE_UNAVAILABLE, "");
+        assertHolidayException(holidayRepository.fetchHolidays(2026, "US"));
+        assertHolidayException(holidayRepository.fetchHolidays(2026, "NL"));
+
+        // Act
+        HolidayException exception = assertHolidayException(holidayRepository.fetchHolidays(2026, "DE"));
+
+        // Assert
+        assertInstanceOf(UpstreamUnavailableException.class, exception);
+        assertEquals(2, requestedUrls.size());
+        assertEquals(1, meterRegistry.get("holidays.upstream.rejected").tags("reason", "circuit_open").counter().count());
+    }
+
+    @Test
+    void fetchHolidays_ShouldServeStaleEntryWhileCircuitIsOpen() {
+        // Arrange
+        properties.getCircuitBreaker().setSlidingWindowSize(1);
+        properties.getCircuitBreaker().setMinimumCalls(1);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofDays(1));
+        holidayRepository = createRepository(false);
+        respondWith(HttpStatus.OK, HOLIDAYS_JSON);
+        holidayRepository.fetchHolidays(2026, "US").join();
+        respondWith(HttpStatus.SERVICE_UNAVAILABLE, "");
+        assertHolidayException(holidayRepository.fetchHolidays(2026, "NL"));
+        clock.advance(Duration.ofHours(13));
+
+        // Act
+        HolidayCalendar result = holidayRepository.fetchHolidays(2026, "US").join();
+
+        // Assert
+        assertTrue(result.isStale());
         assertEquals(2, result.size());
-        assertEquals("New Year's Day", result.get(0).getLocalName());
-        assertEquals("Christmas Day", result.get(1).getLocalName());
-        verify(restTemplate, times(1)).getForEntity(url, Holiday[].class);
+        assertEquals(2, requestedUrls.size());
+    }
+
+    @Test
+    void fetchHolidaysBatch_ShouldFetchHundredColdCountriesInOneWave() {
+        // Arrange: upstream responses stay pending until completed below
+        List<String> countryCodes = IntStream.range(0, 100)
+                .mapToObj(i -> String.valueOf((char) ('A' + i / 26)) + (char) ('A' + i % 26))
+                .toList();
+        List<CompletableFuture<ClientResponse>> pending = new ArrayList<>();
+        for (int i = 0; i < countryCodes.size(); i++) {
+            CompletableFuture<ClientResponse> response = new CompletableFuture<>();
+            pending.add(response);
+            responses.add(Mono.fromFuture(response));
+        }
+
+        // Act
+        CompletableFuture<HolidayBatch> batch = holidayRepository.fetchHolidaysBatch(2025, countryCodes);
+
+        // Assert: every country is requested before any response arrives
+        assertEquals(100, requestedUrls.size());
+        pending.forEach(response -> response.complete(jsonResponse(HttpStatus.OK, HOLIDAYS_JSON)));
+        HolidayBatch result = batch.join();
+        assertEquals(countryCodes, List.copyOf(result.getHolidays().keySet()));
+        assertTrue(result.getFailures().isEmpty());
+        assertTrue(meterRegistry.find("holidays.upstream.rejected").counters().stream().allMatch(counter -> counter.count() == 0));
+    }
+
+    private HolidayRepository createRepository(boolean snapshotEnabled) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requestedUrls.add(request.url());
+                    return responses.remove();
+                })
+                .build();
+        properties.getSnapshot().setEnabled(snapshotEnabled);
+        properties.getSnapshot().setPath(snapshotDir.resolve("holidays.bin").toString());
+        properties.getMetrics().setCountryTags(List.of("US"));
+        snapshotStore = new HolidaySnapshotStore(properties);
+        snapshotStore.open();
+        HolidayCache holidayCache = new HolidayCache(properties, clock);
+        HolidayMetrics metrics = new HolidayMetrics(meterRegistry, properties);
+        HolidaySource holidaySource = new HttpHolidaySource(webClient, apiUrl, metrics, new UpstreamCircuitBreaker(properties, clock));
+        return new HolidayRepository(holidaySource, holidayCache, snapshotStore, clock,
+                new BoundedFanOut(properties, Runnable::run), new HolidayKeyPopularity(), metrics);
+    }
+
+    private void respondWith(HttpStatus status, String body) {
+        responses.add(Mono.just(jsonResponse(status, body)));
+    }
+
+    private static ClientResponse jsonResponse(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+
+    private static HolidayException assertHolidayException(CompletableFuture<?> future) {
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        return assertInstanceOf(HolidayException.class, exception.getCause());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,193 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.HolidayProperties;
+import com.myorg.holidayservice.model.Holiday;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidaySnapshotStoreTest {
+
+    private static final HolidayKey US_2024 = HolidayKey.of(2024, "US");
+    private static final HolidayKey NL_2024 = HolidayKey.of(2024, "NL");
+    private static final Instant FETCHED_AT = Instant.parse("2025-02-01T00:00:00Z");
+
+    @TempDir
+    Path snapshotDir;
+
+    private HolidayProperties properties;
+    private HolidaySnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HolidayProperties();
+        properties.getSnapshot().setEnabled(true);
+        properties.getSnapshot().setPath(snapshotDir.resolve("holidays.bin").toString());
+        store = open();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.close();
+    }
+
+    @Test
+    void load_ShouldReturnSavedDatasetAfterRestart() throws Exception {
+        // Arrange
+        HolidayCalendar holidays = calendar(
+                new Holiday(LocalDate.of(2024, 1, 1), "New Year's Day"),
+                new Holiday(LocalDate.of(2024, 7, 4), null));
+        store.save(US_2024, holidays, FETCHED_AT).join();
+
+        // Act
+        reopen();
+
+        // Assert
+        HolidaySnapshotStore.HolidaySnapshot snapshot = store.load(US_2024).orElseThrow();
+        assertEquals(holidays, snapshot.getHolidays());
+        assertNull(snapshot.getHolidays().localName(1));
+        assertEquals(FETCHED_AT, snapshot.getFetchedAt());
+        assertTrue(store.load(NL_2024).isEmpty());
+    }
+
+    @Test
+    void load_ShouldReturnLatestDatasetAndCompactSupersededRecords() throws Exception {
+        // Arrange
+        store.save(US_2024, calendar(new Holiday(LocalDate.of(2024, 1, 1), "Old")), FETCHED_AT).join();
+        store.save(US_2024, calendar(new Holiday(LocalDate.of(2024, 1, 1), "New")), FETCHED_AT.plusSeconds(60)).join();
+        store.save(NL_2024, calendar(new Holiday(LocalDate.of(2024, 4, 27), "Koningsdag")), FETCHED_AT).join();
+        long sizeBeforeCompaction = Files.size(snapshotFile());
+
+        // Act
+        reopen();
+
+        // Assert
+        assertEquals("New", store.load(US_2024).orElseThrow().getHolidays().localName(0));
+        assertEquals("Koningsdag", store.load(NL_2024).orElseThrow().getHolidays().localName(0));
+        assertTrue(Files.size(snapshotFile()) < sizeBeforeCompaction);
+    }
+
+    @Test
+    void save_ShouldOnlyUpdateFetchTimeWhenDatasetIsUnchanged() throws Exception {
+        // Arrange
+        store.save(US_2024, calendar(new Holiday(LocalDate.of(2024, 1, 1), "New Year's Day")), FETCHED_AT).join();
+        long size = Files.size(snapshotFile());
+
+        // Act
+        store.save(US_2024, calendar(new Holiday(LocalDate.of(2024, 1, 1), "New Year's Day")), FETCHED_AT.plusSeconds(60)).join();
+        reopen();
+
+        // Assert
+        assertEquals(size, Files.size(snapshotFile()));
+        assertEquals(FETCHED_AT.plusSeconds(60), store.load(US_2024).orElseThrow().getFetchedAt());
+    }
+
+    @Test
+    void open_ShouldDiscardTruncatedTrailingRecord() throws Exception {
+        // Arrange
+        store.save(US_2024, calendar(new Holiday(LocalDate.of(2024, 1, 1), "New Year's Day")), FETCHED_AT).join();
+        store.close();
+        long validSize = Files.size(snapshotFile());
+        Files.write(snapshotFile(), new byte[]{0, 0, 0, 40, 0, 0}, StandardOpenOption.APPEND);
+
+        // Act
+        store = open();
+        store.save(NL_2024, calendar(new Holiday(LocalDate.of(2024, 4, 27), "Koningsdag")), FETCHED_AT).join();
+        reopen();
+
+        // Assert
+        assertTrue(Files.size(snapshotFile()) > validSize);
+        assertTrue(store.load(US_2024).isPresent());
+        assertTrue(store.load(NL_2024).isPresent());
+    }
+
+    @Test
+    void open_ShouldDiscardRecordsWithCorruptLength() throws Exception {
+        // Arrange: a negative and a huge record length
+        store.save(US_2024, calendar(new Holiday(LocalDate.of(2024, 1, 1), "New Year's Day")), FETCHED_AT).join();
+        store.close();
+        long validSize = Files.size(snapshotFile());
+        Files.write(snapshotFile(), new byte[]{-1, -1, -1, -16, 0, 0, 0, 0}, StandardOpenOption.APPEND);
+
+        // Act
+        store = open();
+
+        // Assert
+        assertTrue(store.load(US_2024).isPresent());
+        assertEquals(validSize, Files.size(snapshotFile()));
+
+        // Arrange
+        store.close();
+        Files.write(snapshotFile(), new byte[]{0x7F, -1, -1, -1, 0, 0, 0, 0}, StandardOpenOption.APPEND);
+
+        // Act
+        store = open();
+
+        // Assert
+        assertTrue(store.load(US_2024).isPresent());
+        assertEquals(validSize, Files.size(snapshotFile()));
+    }
+
+    @Test
+    void forEach_ShouldVisitEveryKey() {
+        // Arrange
+        store.save(US_2024, calendar(new Holiday(LocalDate.of(2024, 1, 1), "New Year's Day")), FETCHED_AT).join();
+        store.save(NL_2024, calendar(new Holiday(LocalDate.of(2024, 4, 27), "Koningsdag")), FETCHED_AT).join();
+
+        // Act
+        Map<HolidayKey, Integer> visited = new HashMap<>();
+        store.forEach((key, snapshot) -> visited.put(key, snapshot.getHolidays().size()));
+
+        // Assert
+        assertEquals(Map.of(US_2024, 1, NL_2024, 1), visited);
+    }
+
+    @Test
+    void save_ShouldDoNothingWhenDisabled() throws Exception {
+        // Arrange
+        store.close();
+        properties.getSnapshot().setEnabled(false);
+        Files.deleteIfExists(snapshotFile());
+        store = open();
+
+        // Act
+        store.save(US_2024, calendar(new Holiday(LocalDate.of(2024, 1, 1), "New Year's Day")), FETCHED_AT).join();
+
+        // Assert
+        assertTrue(store.load(US_2024).isEmpty());
+        assertFalse(Files.exists(snapshotFile()));
+    }
+
+    private static HolidayCalendar calendar(Holiday... holidays) {
+        return HolidayCalendar.of(List.of(holidays));
+    }
+
+    private HolidaySnapshotStore open() {
+        HolidaySnapshotStore opened = new HolidaySnapshotStore(properties);
+        opened.open();
+        return opened;
+    }
+
+    private void reopen() throws Exception {
+        store.close();
+        store = open();
+    }
+
+    private Path snapshotFile() {
+        return snapshotDir.resolve("holidays.bin");
+    }
+}
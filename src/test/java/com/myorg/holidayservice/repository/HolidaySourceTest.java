@@ -0,0 +1,110 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.exception.HolidayException;
+import com.myorg.holidayservice.model.Holiday;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidaySourceTest {
+
+    private static final HolidayCalendar REMOTE = HolidayCalendar.of(List.of(new Holiday(LocalDate.of(2025, 1, 1), "New Year's Day")));
+
+    @TempDir
+    Path datasetDir;
+
+    @Test
+    void local_ShouldReadDatasetInTheUpstreamFormat() {
+        // Arrange
+        LocalHolidaySource source = localSource("classpath:holidays");
+
+        // Act
+        HolidayCalendar holidays = source.fetch(HolidayKey.of(2025, "NL")).join().orElseThrow();
+
+        // Assert
+        assertEquals(3, holidays.size());
+        assertEquals(LocalDate.of(2025, 4, 27), holidays.date(1));
+        assertEquals("Koningsdag", holidays.localName(1));
+    }
+
+    @Test
+    void local_ShouldReturnEmptyForKeysWithoutDataset() {
+        // Act & Assert
+        assertTrue(localSource("classpath:holidays/").fetch(HolidayKey.of(2025, "US")).join().isEmpty());
+    }
+
+    @Test
+    void local_ShouldNotReadOutsideTheDatasetForInvalidCountryCodes() throws Exception {
+        // Arrange: a file one level above the year directory
+        Files.writeString(Files.createDirectories(datasetDir.resolve("2025")).resolve("BE.json"), "[{\"date\": \"2025-07-21\"}]");
+        LocalHolidaySource source = localSource(datasetDir.resolve("2025").resolve("x").toUri().toString());
+
+        // Act & Assert
+        assertTrue(source.fetch(HolidayKey.of(2025, "../../BE")).join().isEmpty());
+        assertTrue(source.fetch(HolidayKey.of(2025, "NLD")).join().isEmpty());
+    }
+
+    @Test
+    void local_ShouldKeepDatasetsInMemoryOnceRead() throws Exception {
+        // Arrange
+        Path file = Files.createDirectories(datasetDir.resolve("2025")).resolve("BE.json");
+        Files.writeString(file, "[{\"date\": \"2025-07-21\", \"localName\": \"Nationale feestdag\"}]");
+        LocalHolidaySource source = localSource(datasetDir.toUri().toString());
+        source.fetch(HolidayKey.of(2025, "BE")).join();
+
+        // Act
+        Files.delete(file);
+        Optional<HolidayCalendar> holidays = source.fetch(HolidayKey.of(2025, "BE")).join();
+
+        // Assert
+        assertEquals(1, holidays.orElseThrow().size());
+    }
+
+    @Test
+    void local_ShouldFailWithHolidayExceptionOnMalformedDataset() throws Exception {
+        // Arrange
+        Files.writeString(Files.createDirectories(datasetDir.resolve("2025")).resolve("BE.json"), "{not json");
+        LocalHolidaySource source = localSource(datasetDir.toUri().toString());
+
+        // Act & Assert
+        CompletionException exception = assertThrows(CompletionException.class, () -> source.fetch(HolidayKey.of(2025, "BE")).join());
+        assertInstanceOf(HolidayException.class, exception.getCause());
+    }
+
+    @Test
+    void tiered_ShouldOnlyAskLaterSourcesForKeysEarlierOnesLack() {
+        // Arrange
+        AtomicInteger remoteCalls = new AtomicInteger();
+        HolidaySource remote = key -> {
+            remoteCalls.incrementAndGet();
+            return CompletableFuture.completedFuture(Optional.of(REMOTE));
+        };
+        TieredHolidaySource source = new TieredHolidaySource(List.of(localSource("classpath:holidays"), remote));
+
+        // Act
+        HolidayCalendar local = source.fetch(HolidayKey.of(2025, "NL")).join().orElseThrow();
+        HolidayCalendar fetched = source.fetch(HolidayKey.of(2025, "US")).join().orElseThrow();
+
+        // Assert
+        assertEquals(3, local.size());
+        assertEquals(REMOTE, fetched);
+        assertEquals(1, remoteCalls.get());
+    }
+
+    private static LocalHolidaySource localSource(String location) {
+        return new LocalHolidaySource(new DefaultResourceLoader(), location);
+    }
+}
@@ -0,0 +1,112 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.exception.HolidayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    private RequestCoalescer<String, String> coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new RequestCoalescer<>();
+    }
+
+    @Test
+    void execute_ShouldShareOneCallBetweenConcurrentCallers() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        // Act
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(coalescer.execute("US", () -> {
+                loads.incrementAndGet();
+                return upstream;
+            }));
+        }
+        assertEquals(1, coalescer.inFlightCount());
+        upstream.complete("holidays");
+
+        // Assert
+        for (CompletableFuture<String> result : results) {
+            assertEquals("holidays", result.join());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void execute_ShouldPropagateFailureToAllWaitingCallers() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        // Act
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(coalescer.execute("US", () -> {
+                loads.incrementAndGet();
+                return upstream;
+            }));
+        }
+        upstream.completeExceptionally(new HolidayException("Failed to fetch holidays from external service", null));
+
+        // Assert
+        for (CompletableFuture<String> result : results) {
+            CompletionException exception = assertThrows(CompletionException.class, result::join);
+            assertInstanceOf(HolidayException.class, exception.getCause());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void execute_ShouldLoadAgainOnceThePreviousCallCompleted() {
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.execute("US", () -> CompletableFuture.completedFuture("first-" + loads.incrementAndGet())).join();
+        String second = coalescer.execute("US", () -> CompletableFuture.completedFuture("second-" + loads.incrementAndGet())).join();
+
+        assertEquals("second-2", second);
+    }
+
+    @Test
+    void execute_ShouldReleaseKeyWhenLoaderThrows() {
+        CompletableFuture<String> result = coalescer.execute("US", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void execute_ShouldNotCoalesceDifferentKeys() {
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.execute("US", () -> {
+            loads.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        coalescer.execute("NL", () -> {
+            loads.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        assertEquals(2, loads.get());
+        assertEquals(2, coalescer.inFlightCount());
+    }
+}
@@ -0,0 +1,133 @@
+package com.myorg.holidayservice.repository;
+
+import com.myorg.holidayservice.HolidayProperties;
+import com.myorg.holidayservice.repository.UpstreamCircuitBreaker.Permission;
+import com.myorg.holidayservice.repository.UpstreamCircuitBreaker.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpstreamCircuitBreakerTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-06-01T00:00:00Z"));
+    private final HolidayProperties properties = new HolidayProperties();
+    private UpstreamCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        properties.getCircuitBreaker().setMinimumCalls(4);
+        properties.getCircuitBreaker().setFailureRateThreshold(50);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofSeconds(30));
+        properties.getCircuitBreaker().setHalfOpenCalls(2);
+        properties.getCircuitBreaker().setMaxConcurrentCalls(2);
+        circuitBreaker = new UpstreamCircuitBreaker(properties, clock);
+    }
+
+    @Test
+    void tryAcquire_ShouldOpenOnceFailureRateOfWindowReachesThreshold() {
+        // Arrange
+        call(true);
+        call(false);
+        call(true);
+        assertEquals(State.CLOSED, circuitBreaker.state());
+
+        // Act
+        call(false);
+
+        // Assert: 2 of 4 calls failed
+        assertEquals(State.OPEN, circuitBreaker.state());
+        assertEquals(Permission.CIRCUIT_OPEN, circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_ShouldOnlyCountTheSlidingWindow() {
+        // Arrange: the first failure leaves the window before the second one is recorded
+        call(true);
+        call(false);
+        call(false);
+        call(false);
+        call(false);
+
+        // Act
+        call(true);
+
+        // Assert: 1 of the last 4 calls failed
+        assertEquals(State.CLOSED, circuitBreaker.state());
+    }
+
+    @Test
+    void tryAcquire_ShouldCloseAfterSuccessfulTrialCalls() {
+        // Arrange
+        openCircuit();
+        clock.advance(Duration.ofSeconds(30));
+
+        // Act & Assert: only the trial calls are let through
+        assertEquals(Permission.PERMITTED, circuitBreaker.tryAcquire());
+        assertEquals(State.HALF_OPEN, circuitBreaker.state());
+        assertEquals(Permission.PERMITTED, circuitBreaker.tryAcquire());
+        circuitBreaker.onSuccess();
+        assertEquals(Permission.CIRCUIT_OPEN, circuitBreaker.tryAcquire());
+        circuitBreaker.onSuccess();
+        assertEquals(State.CLOSED, circuitBreaker.state());
+    }
+
+    @Test
+    void tryAcquire_ShouldReopenWhenTrialCallFails() {
+        // Arrange
+        openCircuit();
+        clock.advance(Duration.ofSeconds(30));
+
+        // Act
+        call(true);
+
+        // Assert: open for another full duration
+        assertEquals(State.OPEN, circuitBreaker.state());
+        clock.advance(Duration.ofSeconds(29));
+        assertEquals(Permission.CIRCUIT_OPEN, circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_ShouldRejectCallsBeyondBulkheadWithoutQueueing() {
+        // Arrange
+        assertEquals(Permission.PERMITTED, circuitBreaker.tryAcquire());
+        assertEquals(Permission.PERMITTED, circuitBreaker.tryAcquire());
+
+        // Act & Assert
+        assertEquals(Permission.BULKHEAD_FULL, circuitBreaker.tryAcquire());
+        circuitBreaker.onSuccess();
+        assertEquals(Permission.PERMITTED, circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_ShouldPermitEveryCallWhenDisabled() {
+        // Arrange
+        properties.getCircuitBreaker().setEnabled(false);
+
+        // Act
+        openCircuit();
+
+        // Assert
+        assertEquals(State.CLOSED, circuitBreaker.state());
+        assertEquals(Permission.PERMITTED, circuitBreaker.tryAcquire());
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+    }
+
+    private void call(boolean failure) {
+        assertEquals(Permission.PERMITTED, circuitBreaker.tryAcquire());
+        if (failure) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.myorg.holidayservice.service;
+
+import com.myorg.holidayservice.HolidayProperties;
+import com.myorg.holidayservice.model.Holiday;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.WorkingDayCheck;
+import com.myorg.holidayservice.repository.HolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BusinessDayServiceTest {
+
+    @Mock
+    private HolidayRepository holidayRepository;
+
+    private BusinessDayService businessDayService;
+
+    private final HolidayCalendar holidays2025 = HolidayCalendar.of(List.of(
+            new Holiday(LocalDate.of(2025, 1, 1), "New Year's Day"),
+            new Holiday(LocalDate.of(2025, 12, 25), "Christmas Day"),
+            new Holiday(LocalDate.of(2025, 12, 26), "Boxing Day")));
+    private final HolidayCalendar holidays2026 = HolidayCalendar.of(List.of(
+            new Holiday(LocalDate.of(2026, 1, 1), "New Year's Day")));
+
+    @BeforeEach
+    void setUp() {
+        HolidayProperties properties = new HolidayProperties();
+        properties.getBusinessDays().getWeekends().put("il", EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY));
+        businessDayService = new BusinessDayService(properties, holidayRepository, Runnable::run);
+
+        lenient().when(holidayRepository.fetchHolidays(anyInt(), anyString())).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.EMPTY));
+        lenient().when(holidayRepository.fetchHolidays(2025, "GB")).thenReturn(CompletableFuture.completedFuture(holidays2025));
+        lenient().when(holidayRepository.fetchHolidays(2026, "GB")).thenReturn(CompletableFuture.completedFuture(holidays2026));
+    }
+
+    @Test
+    void isWorkingDay_ShouldReportHolidaysAndWeekends() {
+        // Act
+        WorkingDayCheck newYear = businessDayService.isWorkingDay("GB", LocalDate.of(2025, 1, 1)).join();
+        WorkingDayCheck saturday = businessDayService.isWorkingDay("GB", LocalDate.of(2025, 1, 4)).join();
+        WorkingDayCheck israeliSunday = businessDayService.isWorkingDay("IL", LocalDate.of(2025, 1, 5)).join();
+
+        // Assert
+        assertFalse(newYear.isWorkingDay());
+        assertEquals("New Year's Day", newYear.getHoliday());
+        assertFalse(saturday.isWorkingDay());
+        assertNull(saturday.getHoliday());
+        assertTrue(israeliSunday.isWorkingDay());
+    }
+
+    @Test
+    void addWorkingDays_ShouldSkipHolidaysAndWeekendsAcrossYears() {
+        // Act: Wed 2025-12-24 + 2 skips Christmas, Boxing Day and the weekend
+        LocalDate forward = businessDayService.addWorkingDays("GB", LocalDate.of(2025, 12, 24), 2).join().getDate();
+        // Wed 2025-12-31 + 1 skips New Year's Day 2026
+        LocalDate nextYear = businessDayService.addWorkingDays("GB", LocalDate.of(2025, 12, 31), 1).join().getDate();
+        // Fri 2026-01-02 - 2 skips New Year's Day 2026
+        LocalDate backward = businessDayService.addWorkingDays("GB", LocalDate.of(2026, 1, 2), -2).join().getDate();
+        LocalDate unchanged = businessDayService.addWorkingDays("GB", LocalDate.of(2025, 1, 4), 0).join().getDate();
+
+        // Assert
+        assertEquals(LocalDate.of(2025, 12, 30), forward);
+        assertEquals(LocalDate.of(2026, 1, 2), nextYear);
+        assertEquals(LocalDate.of(2025, 12, 30), backward);
+        assertEquals(LocalDate.of(2025, 1, 4), unchanged);
+    }
+
+    @Test
+    void countWorkingDays_ShouldCountInclusiveRangesAcrossYears() {
+        // Act
+        int december = businessDayService.countWorkingDays("GB", LocalDate.of(2025, 12, 22), LocalDate.of(2026, 1, 2)).join().getWorkingDays();
+        int twoYears = businessDayService.countWorkingDays("GB", LocalDate.of(2025, 1, 1), LocalDate.of(2026, 12, 31)).join().getWorkingDays();
+
+        // Assert: Dec 22-24, 29-31 and Jan 2
+        assertEquals(7, december);
+        assertEquals(258 + 260, twoYears);
+    }
+
+    @Test
+    void countWorkingDays_ShouldRejectInvalidRanges() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> businessDayService.countWorkingDays("GB", LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> businessDayService.countWorkingDays("GB", LocalDate.of(2000, 1, 1), LocalDate.of(2025, 1, 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> businessDayService.addWorkingDays("GB", LocalDate.of(2025, 1, 1), 100_000));
+        verifyNoInteractions(holidayRepository);
+    }
+
+}
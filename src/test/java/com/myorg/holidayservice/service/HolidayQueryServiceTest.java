@@ -0,0 +1,94 @@
+package com.myorg.holidayservice.service;
+
+import com.myorg.holidayservice.exception.HolidayException;
+import com.myorg.holidayservice.model.CountryHolidayCount;
+import com.myorg.holidayservice.model.Holiday;
+import com.myorg.holidayservice.model.HolidayDirection;
+import com.myorg.holidayservice.model.HolidayQuery;
+import com.myorg.holidayservice.model.HolidayQueryResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HolidayQueryServiceTest {
+
+    @Mock
+    private HolidayService holidayService;
+
+    private HolidayQueryService holidayQueryService;
+
+    @BeforeEach
+    void setUp() {
+        holidayQueryService = new HolidayQueryService(holidayService);
+    }
+
+    @Test
+    void run_ShouldReturnResultsInRequestOrder() {
+        // Arrange
+        List<Holiday> next = List.of(new Holiday(LocalDate.of(2025, 4, 26), "Koningsdag"));
+        List<CountryHolidayCount> counts = List.of(new CountryHolidayCount("NL", 8));
+        when(holidayService.getHolidays("NL", 1, HolidayDirection.FUTURE)).thenReturn(CompletableFuture.completedFuture(next));
+        when(holidayService.getNonWeekendHolidaysCount(2025, List.of("NL"))).thenReturn(CompletableFuture.completedFuture(counts));
+        when(holidayService.getCommonHolidays(2025, List.of("NL", "DE"))).thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+
+        // Act
+        List<HolidayQueryResult> results = holidayQueryService.run(List.of(
+                new HolidayQuery("next", HolidayQuery.Type.HOLIDAYS, "NL", 1, "future", null, null, null),
+                new HolidayQuery(null, HolidayQuery.Type.COUNT, null, null, null, 2025, List.of("NL"), null),
+                new HolidayQuery(null, HolidayQuery.Type.COMMON, null, null, null, 2025, List.of("NL", "DE"), null))).join();
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals("next", results.get(0).getId());
+        assertEquals(next, results.get(0).getResult());
+        assertEquals(counts, results.get(1).getResult());
+        assertEquals(Collections.emptyList(), results.get(2).getResult());
+        assertTrue(results.stream().allMatch(result -> result.getError() == null));
+    }
+
+    @Test
+    void run_ShouldReportFailedAndInvalidQueriesIndividually() {
+        // Arrange
+        when(holidayService.getHolidays("US", 3, HolidayDirection.PAST)).thenReturn(CompletableFuture.failedFuture(
+                new HolidayException("Failed to fetch holidays from external service", null)));
+
+        // Act
+        List<HolidayQueryResult> results = holidayQueryService.run(List.of(
+                new HolidayQuery(null, HolidayQuery.Type.HOLIDAYS, "US", null, null, null, null, null),
+                new HolidayQuery(null, HolidayQuery.Type.COUNT, null, null, null, null, List.of("NL"), null),
+                new HolidayQuery(null, null, "US", null, null, null, null, null),
+                new HolidayQuery(null, HolidayQuery.Type.HOLIDAYS, "US", 1_000_000, null, null, null, null),
+                new HolidayQuery(null, HolidayQuery.Type.HOLIDAYS, "US", 0, null, null, null, null))).join();
+
+        // Assert
+        assertEquals("Failed to fetch holidays from external service", results.get(0).getError());
+        assertEquals("year is required", results.get(1).getError());
+        assertEquals("type is required", results.get(2).getError());
+        assertEquals("n must be between 1 and 100", results.get(3).getError());
+        assertEquals("n must be between 1 and 100", results.get(4).getError());
+        assertTrue(results.stream().allMatch(result -> result.getResult() == null));
+    }
+
+    @Test
+    void run_ShouldRejectEmptyAndOversizedBatches() {
+        // Arrange
+        HolidayQuery query = new HolidayQuery(null, HolidayQuery.Type.HOLIDAYS, "US", null, null, null, null, null);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> holidayQueryService.run(List.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> holidayQueryService.run(Collections.nCopies(HolidayQueryService.MAX_QUERIES + 1, query)));
+        verifyNoInteractions(holidayService);
+    }
+}
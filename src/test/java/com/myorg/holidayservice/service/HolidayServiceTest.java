@@ -1,19 +1,36 @@
 package com.myorg.holidayservice.service;
 
+import com.myorg.holidayservice.HolidayProperties;
+import com.myorg.holidayservice.exception.HolidayException;
+import com.myorg.holidayservice.model.CommonHoliday;
 import com.myorg.holidayservice.model.CountryHolidayCount;
 import com.myorg.holidayservice.model.Holiday;
+import com.myorg.holidayservice.model.HolidayCalendar;
+import com.myorg.holidayservice.model.HolidayResults;
+import com.myorg.holidayservice.model.HolidayDirection;
+import com.myorg.holidayservice.model.HolidayKey;
+import com.myorg.holidayservice.repository.HolidayBatch;
 import com.myorg.holidayservice.repository.HolidayRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,7 +41,8 @@ public class HolidayServiceTest {
     @Mock
     private HolidayRepository holidayRepository;
 
-    @InjectMocks
+    private final HolidayProperties properties = new HolidayProperties();
+
     private HolidayService holidayService;
 
     private Holiday holiday1;
@@ -34,6 +52,25 @@ public class HolidayServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Pin "today" so the current/previous year logic is deterministic
+        Clock clock = Clock.fixed(LocalDate.of(2025, 2, 1).atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        holidayService = new HolidayService(holidayRepository, clock, Runnable::run, properties);
+
+        // Assemble batches from the per-country stubs, as the repository does for cache hits and misses
+        lenient().when(holidayRepository.fetchHolidaysBatch(anyInt(), anyCollection())).thenAnswer(invocation -> {
+            int year = invocation.getArgument(0);
+            Map<String, HolidayCalendar> holidays = new LinkedHashMap<>();
+            Map<String, Throwable> failures = new LinkedHashMap<>();
+            for (String code : invocation.<Collection<String>>getArgument(1)) {
+                try {
+                    holidays.put(code, holidayRepository.fetchHolidays(year, code).join());
+                } catch (CompletionException e) {
+                    failures.put(code, e.getCause());
+                }
+            }
+            return CompletableFuture.completedFuture(new HolidayBatch(year, holidays, failures));
+        });
+
         // Initialize test data for 2025 and 2024
         holiday1 = new Holiday(LocalDate.of(2025, 1, 1), "New Year's Day");
         holiday2 = new Holiday(LocalDate.of(2024, 12, 31), "Christmas Day");
@@ -44,10 +81,10 @@ public class HolidayServiceTest {
     @Test
     void getLastThreeHolidays_ShouldReturnLastThreeHolidays() {
         // Mock data for 2025
-        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(Arrays.asList(holiday1, holiday2, holiday3));
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(holiday1, holiday2, holiday3))));
 
         // Call method
-        List<Holiday> result = holidayService.getLastThreeHolidays("US");
+        List<Holiday> result = holidayService.getLastThreeHolidays("US").join();
 
         // Assertions
         assertEquals(3, result.size());
@@ -56,14 +93,66 @@ public class HolidayServiceTest {
         assertEquals(holiday3.getDate(), result.get(2).getDate());
     }
 
+    @Test
+    void getLastThreeHolidays_ShouldReuseTodaysResultsWhileTheirDatasetsAreCurrent() {
+        // Arrange
+        HolidayCalendar holidays = HolidayCalendar.of(Arrays.asList(holiday1, holiday2, holiday3));
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(holidays));
+        when(holidayRepository.isCurrent(HolidayKey.of(2025, "US"), holidays.version())).thenReturn(true, false);
+
+        // Act
+        List<Holiday> first = holidayService.getLastThreeHolidays("US").join();
+        List<Holiday> reused = holidayService.getLastThreeHolidays("us").join();
+        List<Holiday> recomputed = holidayService.getLastThreeHolidays("US").join();
+
+        // Assert
+        assertSame(first, reused);
+        // Every caller shares the memoized results, so none of them may change it
+        assertThrows(UnsupportedOperationException.class, () -> reused.add(holiday4));
+        assertThrows(UnsupportedOperationException.class, () -> reused.subList(0, 1).clear());
+        assertThrows(UnsupportedOperationException.class, () -> ((HolidayResults<Holiday>) reused).markStale(true));
+        assertEquals(List.of(holiday1, holiday2, holiday3), reused);
+        assertNotSame(first, recomputed);
+        assertEquals(first, recomputed);
+        assertEquals(Instant.parse("2025-02-02T00:00:00Z"), ((HolidayResults<Holiday>) first).getValidUntil());
+        verify(holidayRepository, times(2)).fetchHolidays(2025, "US");
+        // The reuse still counts as a request for the dataset
+        verify(holidayRepository, times(1)).recordRequest(HolidayKey.of(2025, "US"));
+    }
+
+    @Test
+    void getLastThreeHolidays_ShouldTakeTodayInTheCountrysZone() {
+        // Arrange: 23:30 on New Year's Eve in UTC is already New Year's Day in Amsterdam
+        properties.getToday().getZones().put("NL", ZoneId.of("Europe/Amsterdam"));
+        Clock clock = Clock.fixed(Instant.parse("2024-12-31T23:30:00Z"), ZoneOffset.UTC);
+        holidayService = new HolidayService(holidayRepository, clock, Runnable::run, properties);
+        HolidayCalendar holidays2025 = HolidayCalendar.of(List.of(holiday1, holiday4));
+        HolidayCalendar holidays2024 = HolidayCalendar.of(List.of(holiday2, holiday3));
+        when(holidayRepository.fetchHolidays(eq(2025), anyString())).thenReturn(CompletableFuture.completedFuture(holidays2025));
+        when(holidayRepository.fetchHolidays(eq(2024), anyString())).thenReturn(CompletableFuture.completedFuture(holidays2024));
+        when(holidayRepository.fetchHolidays(2023, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.EMPTY));
+
+        // Act
+        List<Holiday> netherlands = holidayService.getLastThreeHolidays("NL").join();
+        List<Holiday> unitedStates = holidayService.getLastThreeHolidays("US").join();
+
+        // Assert
+        assertEquals(List.of(holiday1.getDate(), holiday2.getDate(), holiday3.getDate()),
+                netherlands.stream().map(Holiday::getDate).toList());
+        assertEquals(Instant.parse("2025-01-01T23:00:00Z"), ((HolidayResults<Holiday>) netherlands).getValidUntil());
+        assertEquals(List.of(holiday2.getDate(), holiday3.getDate()), unitedStates.stream().map(Holiday::getDate).toList());
+        assertEquals(Instant.parse("2025-01-01T00:00:00Z"), ((HolidayResults<Holiday>) unitedStates).getValidUntil());
+    }
+
     @Test
     void getLastThreeHolidays_ShouldFetchFromPreviousYearIfCurrentYearIsEmpty() {
         // Mock empty data for 2025 and data for 2024
-        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(Collections.emptyList());
-        when(holidayRepository.fetchHolidays(2024, "US")).thenReturn(Arrays.asList(holiday2, holiday3));
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.EMPTY));
+        when(holidayRepository.fetchHolidays(2024, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(holiday2, holiday3))));
+        when(holidayRepository.fetchHolidays(2023, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.EMPTY));
 
         // Call method
-        List<Holiday> result = holidayService.getLastThreeHolidays("US");
+        List<Holiday> result = holidayService.getLastThreeHolidays("US").join();
 
         // Assertions
         assertEquals(2, result.size()); // Only holidays from 2024 are returned
@@ -74,11 +163,11 @@ public class HolidayServiceTest {
     @Test
     void getLastThreeHolidays_ShouldReturnEmptyListIfBothYearsAreEmpty() {
         // Mock empty data for 2025 and 2024
-        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(Collections.emptyList());
-        when(holidayRepository.fetchHolidays(2024, "US")).thenReturn(Collections.emptyList());
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.EMPTY));
+        when(holidayRepository.fetchHolidays(2024, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.EMPTY));
 
         // Call method
-        List<Holiday> result = holidayService.getLastThreeHolidays("US");
+        List<Holiday> result = holidayService.getLastThreeHolidays("US").join();
 
         // Assertions
         assertTrue(result.isEmpty()); // No holidays found in either year
@@ -87,11 +176,11 @@ public class HolidayServiceTest {
     @Test
     void getLastThreeHolidays_ShouldFetchFromPreviousYearIfCurrentYearHasFewerThanThree() {
         // Mock data for 2025 and 2024
-        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(Collections.singletonList(holiday1));
-        when(holidayRepository.fetchHolidays(2024, "US")).thenReturn(Arrays.asList(holiday2, holiday3));
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Collections.singletonList(holiday1))));
+        when(holidayRepository.fetchHolidays(2024, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(holiday2, holiday3))));
 
         // Call method
-        List<Holiday> result = holidayService.getLastThreeHolidays("US");
+        List<Holiday> result = holidayService.getLastThreeHolidays("US").join();
 
         // Assertions
         assertEquals(3, result.size());
@@ -100,15 +189,92 @@ public class HolidayServiceTest {
         assertEquals(holiday3.getDate(), result.get(2).getDate());
     }
 
+    @Test
+    void getLastThreeHolidays_ShouldShareResultsWithThreePastHolidays() {
+        // Arrange: two years are not enough for three holidays
+        Holiday lastNewYear = new Holiday(LocalDate.of(2023, 1, 1), "New Year's Day");
+        HolidayCalendar holidays2023 = HolidayCalendar.of(Collections.singletonList(lastNewYear));
+        when(holidayRepository.fetchHolidays(2025, "NL")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.EMPTY));
+        when(holidayRepository.fetchHolidays(2024, "NL")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Collections.singletonList(holiday3))));
+        when(holidayRepository.fetchHolidays(2023, "NL")).thenReturn(CompletableFuture.completedFuture(holidays2023));
+        when(holidayRepository.fetchHolidays(2022, "NL")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.EMPTY));
+        when(holidayRepository.isCurrent(any(), anyLong())).thenReturn(true);
+
+        // Act
+        List<Holiday> lastThree = holidayService.getLastThreeHolidays("NL").join();
+        List<Holiday> threePast = holidayService.getHolidays("NL", 3, HolidayDirection.PAST).join();
+
+        // Assert
+        assertEquals(List.of(holiday3.getDate(), lastNewYear.getDate()), lastThree.stream().map(Holiday::getDate).toList());
+        assertSame(lastThree, threePast);
+    }
+
+    // Test for getHolidays method
+    @Test
+    void getHolidays_ShouldWalkBackThroughEarlierYearsUntilNFound() {
+        // Mock data for 2025, 2024 and 2023; "today" is 2025-02-01
+        Holiday lastNewYear = new Holiday(LocalDate.of(2023, 1, 1), "New Year's Day");
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(holiday1, holiday4))));
+        when(holidayRepository.fetchHolidays(2024, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(holiday2, holiday3))));
+        when(holidayRepository.fetchHolidays(2023, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Collections.singletonList(lastNewYear))));
+
+        // Call method
+        List<Holiday> result = holidayService.getHolidays("US", 5, HolidayDirection.PAST).join();
+
+        // Assertions
+        assertEquals(List.of(holiday4.getDate(), holiday1.getDate(), holiday2.getDate(), holiday3.getDate(), lastNewYear.getDate()),
+                result.stream().map(Holiday::getDate).toList());
+        verify(holidayRepository, never()).fetchHolidays(2022, "US");
+    }
+
+    @Test
+    void getHolidays_ShouldReturnUpcomingHolidaysSoonestFirst() {
+        // Mock data for 2025 and 2026; "today" is 2025-02-01
+        Holiday kingsDay = new Holiday(LocalDate.of(2025, 4, 26), "Koningsdag");
+        Holiday nextNewYear = new Holiday(LocalDate.of(2026, 1, 1), "New Year's Day");
+        when(holidayRepository.fetchHolidays(2025, "NL")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(holiday1, kingsDay))));
+        when(holidayRepository.fetchHolidays(2026, "NL")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(nextNewYear, new Holiday(LocalDate.of(2026, 4, 27), "Koningsdag")))));
+
+        // Call method
+        List<Holiday> next = holidayService.getHolidays("NL", 1, HolidayDirection.FUTURE).join();
+        List<Holiday> nextTwo = holidayService.getHolidays("NL", 2, HolidayDirection.FUTURE).join();
+
+        // Assertions
+        assertEquals(List.of(kingsDay.getDate()), next.stream().map(Holiday::getDate).toList());
+        assertEquals(List.of(kingsDay.getDate(), nextNewYear.getDate()), nextTwo.stream().map(Holiday::getDate).toList());
+        verify(holidayRepository, times(1)).fetchHolidays(2026, "NL");
+    }
+
+    @Test
+    void getHolidays_ShouldStopAtAYearWithoutHolidays() {
+        // Mock data for 2025 and an empty 2024
+        when(holidayRepository.fetchHolidays(2025, "XX")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Collections.singletonList(holiday1))));
+        when(holidayRepository.fetchHolidays(2024, "XX")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.EMPTY));
+
+        // Call method
+        List<Holiday> result = holidayService.getHolidays("XX", 10, HolidayDirection.PAST).join();
+
+        // Assertions
+        assertEquals(1, result.size());
+        verify(holidayRepository, never()).fetchHolidays(2023, "XX");
+    }
+
+    @Test
+    void getHolidays_ShouldRejectNonPositiveN() {
+        // Call method & Assertions
+        assertThrows(IllegalArgumentException.class, () -> holidayService.getHolidays("US", 0, HolidayDirection.PAST));
+        verifyNoInteractions(holidayRepository);
+    }
+
     // Test for getNonWeekendHolidaysCount method
     @Test
     void getNonWeekendHolidaysCount_ShouldReturnCountForEachCountry() {
         // Mock data for 2025
-        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(Collections.singletonList(holiday1));
-        when(holidayRepository.fetchHolidays(2025, "IN")).thenReturn(Arrays.asList(holiday1, holiday4));
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Collections.singletonList(holiday1))));
+        when(holidayRepository.fetchHolidays(2025, "IN")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(holiday1, holiday4))));
 
         // Call method
-        List<CountryHolidayCount> result = holidayService.getNonWeekendHolidaysCount(2025, Arrays.asList("US", "IN"));
+        List<CountryHolidayCount> result = holidayService.getNonWeekendHolidaysCount(2025, Arrays.asList("US", "IN")).join();
 
         // Assertions
         assertEquals(2, result.size());
@@ -118,13 +284,35 @@ public class HolidayServiceTest {
         assertEquals(1, result.get(1).getCount());
     }
 
+    @Test
+    void streamNonWeekendHolidaysCount_ShouldEmitEachCountryAsSoonAsItIsLoaded() {
+        // Arrange: US is cached, IN is still loading and DE will fail
+        CompletableFuture<HolidayCalendar> india = new CompletableFuture<>();
+        Map<String, CompletableFuture<HolidayCalendar>> fetches = new LinkedHashMap<>();
+        fetches.put("IN", india);
+        fetches.put("US", CompletableFuture.completedFuture(HolidayCalendar.of(Collections.singletonList(holiday1))));
+        fetches.put("DE", CompletableFuture.failedFuture(new HolidayException("Failed to fetch holidays from external service", null)));
+        when(holidayRepository.fetchHolidaysEach(2025, List.of("IN", "US", "DE"))).thenReturn(fetches);
+        List<CountryHolidayCount> received = new ArrayList<>();
+
+        // Act
+        holidayService.streamNonWeekendHolidaysCount(2025, List.of("IN", "US", "DE")).subscribe(received::add);
+
+        // Assert: available countries are emitted before the slow one completes
+        assertEquals(List.of("US", "DE"), received.stream().map(CountryHolidayCount::getCountryCode).toList());
+        assertEquals("Failed to fetch holidays from external service", received.get(1).getError());
+        india.complete(HolidayCalendar.of(Arrays.asList(holiday1, holiday4)));
+        assertEquals(3, received.size());
+        assertEquals(new CountryHolidayCount("IN", 2), received.get(2));
+    }
+
     @Test
     void getNonWeekendHolidaysCount_ShouldReturnZeroForEmptyHolidays() {
         // Mock empty data for 2025
-        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(Collections.emptyList());
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.EMPTY));
 
         // Call method
-        List<CountryHolidayCount> result = holidayService.getNonWeekendHolidaysCount(2025, Collections.singletonList("US"));
+        List<CountryHolidayCount> result = holidayService.getNonWeekendHolidaysCount(2025, Collections.singletonList("US")).join();
 
         // Assertions
         assertEquals(1, result.size());
@@ -136,38 +324,110 @@ public class HolidayServiceTest {
     @Test
     void getCommonHolidays_ShouldReturnCommonHolidays() {
         // Mock data for 2025
-        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(Arrays.asList(holiday1, holiday2));
-        when(holidayRepository.fetchHolidays(2025, "IN")).thenReturn(Arrays.asList(holiday1, holiday3));
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(holiday1, holiday2))));
+        when(holidayRepository.fetchHolidays(2025, "IN")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(holiday1, holiday3))));
 
         // Call method
-        List<Holiday> result = holidayService.getCommonHolidays(2025, "US", "IN");
+        List<Holiday> result = holidayService.getCommonHolidays(2025, "US", "IN").join();
 
         // Assertions
         assertEquals(1, result.size());
         assertEquals(holiday1.getDate(), result.get(0).getDate());
     }
 
+    @Test
+    void getCommonHolidays_ShouldMarkResultStaleWhenAnyCalendarIsStale() {
+        // Arrange
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(List.of(holiday1))));
+        when(holidayRepository.fetchHolidays(2025, "IN")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(List.of(holiday1)).asStale()));
+
+        // Act
+        List<CommonHoliday> result = holidayService.getCommonHolidays(2025, List.of("US", "IN")).join();
+
+        // Assert
+        assertEquals(1, result.size());
+        assertTrue(HolidayResults.isStale(result));
+        assertFalse(HolidayResults.isStale(holidayService.getCommonHolidays(2025, "US", "US").join()));
+    }
+
     @Test
     void getCommonHolidays_ShouldReturnEmptyListIfNoCommonHolidays() {
         // Mock data for 2025
-        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(Collections.singletonList(holiday1));
-        when(holidayRepository.fetchHolidays(2025, "IN")).thenReturn(Collections.singletonList(holiday4));
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Collections.singletonList(holiday1))));
+        when(holidayRepository.fetchHolidays(2025, "IN")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Collections.singletonList(holiday4))));
 
         // Call method
-        List<Holiday> result = holidayService.getCommonHolidays(2025, "US", "IN");
+        List<Holiday> result = holidayService.getCommonHolidays(2025, "US", "IN").join();
 
         // Assertions
         assertTrue(result.isEmpty()); // No common holidays found
     }
 
+    @Test
+    void getCommonHolidays_ShouldReturnDatesSharedByAllCountries() {
+        // Mock data for 2025 with duplicate and lower-case codes
+        Holiday kingsDay = new Holiday(LocalDate.of(2025, 4, 26), "Koningsdag");
+        when(holidayRepository.fetchHolidays(2025, "NL")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(holiday1, holiday4, kingsDay))));
+        when(holidayRepository.fetchHolidays(2025, "DE")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(holiday1, holiday4))));
+        when(holidayRepository.fetchHolidays(2025, "BE")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(holiday4, holiday1))));
+
+        // Call method
+        List<CommonHoliday> result = holidayService.getCommonHolidays(2025, Arrays.asList("NL", "de", "BE", "NL")).join();
+
+        // Assertions
+        assertEquals(2, result.size());
+        assertEquals(new CommonHoliday(holiday1.getDate(), "New Year's Day", List.of("NL", "DE", "BE")), result.get(0));
+        assertEquals(holiday4.getDate(), result.get(1).getDate());
+    }
+
+    @Test
+    void getCommonHolidays_ShouldReturnDatesSharedByAtLeastMinCountries() {
+        // Mock data for 2025
+        Holiday kingsDay = new Holiday(LocalDate.of(2025, 4, 26), "Koningsdag");
+        when(holidayRepository.fetchHolidays(2025, "NL")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(holiday1, kingsDay))));
+        when(holidayRepository.fetchHolidays(2025, "DE")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(holiday1, holiday4))));
+        when(holidayRepository.fetchHolidays(2025, "BE")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(holiday4, holiday1))));
+
+        // Call method
+        List<CommonHoliday> result = holidayService.getCommonHolidays(2025, Arrays.asList("NL", "DE", "BE"), 2).join();
+
+        // Assertions
+        assertEquals(List.of(holiday1.getDate(), holiday4.getDate()), result.stream().map(CommonHoliday::getDate).toList());
+        assertEquals(List.of("DE", "BE"), result.get(1).getCountryCodes());
+    }
+
+    @Test
+    void getCommonHolidays_ShouldRejectMinCountriesOutOfRange() {
+        // Call method & Assertions
+        assertThrows(IllegalArgumentException.class, () -> holidayService.getCommonHolidays(2025, Arrays.asList("NL", "DE"), 3));
+        assertThrows(IllegalArgumentException.class, () -> holidayService.getCommonHolidays(2025, Arrays.asList("NL", "DE"), 0));
+        verifyNoInteractions(holidayRepository);
+    }
+
+    @Test
+    void getCommonHolidays_ShouldFailWithHolidayExceptionWhenAnyFetchFails() {
+        // Mock one failing country
+        when(holidayRepository.fetchHolidays(2025, "NL")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Collections.singletonList(holiday1))));
+        when(holidayRepository.fetchHolidays(2025, "DE")).thenReturn(CompletableFuture.failedFuture(
+                new HolidayException("Failed to fetch holidays from external service", null)));
+
+        // Call method
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> holidayService.getCommonHolidays(2025, Arrays.asList("NL", "DE")).join());
+
+        // Assertions
+        assertInstanceOf(HolidayException.class, exception.getCause());
+        assertEquals("Failed to fetch common holidays", exception.getCause().getMessage());
+    }
+
     // Test for countNonWeekendHolidays method
     @Test
     void countNonWeekendHolidays_ShouldReturnCorrectCount() {
         // Mock data for 2025
-        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(Arrays.asList(holiday1, holiday2, holiday3));
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(holiday1, holiday2, holiday3))));
 
         // Call method
-        int result = holidayService.countNonWeekendHolidays(2025, "US");
+        int result = holidayService.countNonWeekendHolidays(2025, "US").join();
 
         // Assertions
         assertEquals(3, result);
@@ -176,12 +436,59 @@ public class HolidayServiceTest {
     @Test
     void countNonWeekendHolidays_ShouldReturnZeroForEmptyHolidays() {
         // Mock empty data for 2025
-        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(Collections.emptyList());
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.EMPTY));
 
         // Call method
-        int result = holidayService.countNonWeekendHolidays(2025, "US");
+        int result = holidayService.countNonWeekendHolidays(2025, "US").join();
 
         // Assertions
         assertEquals(0, result); // No holidays found
     }
-}
\ No newline at end of file
+
+    @Test
+    void getLastThreeHolidays_ShouldReturnOnlyTheThreeMostRecentPastHolidays() {
+        // Mock data for 2025 with four past holidays
+        Holiday holiday5 = new Holiday(LocalDate.of(2025, 1, 20), "Martin Luther King Jr. Day");
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Arrays.asList(holiday1, holiday4, holiday5, holiday2))));
+
+        // Call method
+        List<Holiday> result = holidayService.getLastThreeHolidays("US").join();
+
+        // Assertions
+        assertEquals(List.of(holiday5, holiday4, holiday1), result);
+    }
+
+    @Test
+    void getNonWeekendHolidaysCount_ShouldReportFailedCountriesWithErrorAndSortThemLast() {
+        // Mock one failing country
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.completedFuture(HolidayCalendar.of(Collections.singletonList(holiday1))));
+        when(holidayRepository.fetchHolidays(2025, "IN")).thenReturn(CompletableFuture.failedFuture(
+                new HolidayException("Failed to fetch holidays from external service", null)));
+
+        // Call method
+        List<CountryHolidayCount> result = holidayService.getNonWeekendHolidaysCount(2025, Arrays.asList("IN", "US")).join();
+
+        // Assertions
+        assertEquals(2, result.size());
+        assertEquals(new CountryHolidayCount("US", 1), result.get(0));
+        assertEquals("IN", result.get(1).getCountryCode());
+        assertEquals("Failed to fetch holidays from external service", result.get(1).getError());
+    }
+
+    @Test
+    void getNonWeekendHolidaysCount_ShouldFailWithHolidayExceptionWhenEveryFetchFails() {
+        // Mock every country failing
+        when(holidayRepository.fetchHolidays(2025, "US")).thenReturn(CompletableFuture.failedFuture(
+                new HolidayException("Failed to fetch holidays from external service", null)));
+        when(holidayRepository.fetchHolidays(2025, "IN")).thenReturn(CompletableFuture.failedFuture(
+                new HolidayException("Failed to fetch holidays from external service", null)));
+
+        // Call method
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> holidayService.getNonWeekendHolidaysCount(2025, Arrays.asList("US", "IN")).join());
+
+        // Assertions
+        assertInstanceOf(HolidayException.class, exception.getCause());
+        assertEquals("Failed to fetch public holidays count", exception.getCause().getMessage());
+    }
+}